@@ -0,0 +1,69 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares two JMH JSON result files (baseline, current) on the primary score
+ * and on gc.alloc.rate.norm. Prints one line per benchmark and exits with 1
+ * if any of them regressed by more than the threshold percentage.
+ *
+ *   java bench/CompareJmh.java bench/jmh-baseline.json target/jmh-result.json 10
+ */
+public class CompareJmh {
+
+    record Result(double score, double allocBytes, String unit) {
+    }
+
+    // Good enough for JMH's own output, which is flat and machine generated
+    private static final Pattern ENTRY = Pattern.compile(
+            "\"benchmark\"\\s*:\\s*\"([^\"]+)\".*?(?:\"params\"\\s*:\\s*\\{([^}]*)\\}.*?)?"
+                    + "\"primaryMetric\"\\s*:\\s*\\{\\s*\"score\"\\s*:\\s*([0-9.Ee+-]+).*?\"scoreUnit\"\\s*:\\s*\"([^\"]+)\""
+                    + "(.*?)(?=\\{\\s*\"jmhVersion\"|\\z)",
+            Pattern.DOTALL);
+    private static final Pattern ALLOC = Pattern.compile(
+            "\"gc\\.alloc\\.rate\\.norm\"\\s*:\\s*\\{\\s*\"score\"\\s*:\\s*([0-9.Ee+-]+)");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Result> baseline = parse(Path.of(args[0]));
+        Map<String, Result> current = parse(Path.of(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        boolean regressed = false;
+        System.out.printf("%-70s %12s %12s %8s %10s%n", "benchmark", "baseline", "current", "time", "alloc");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %12s %12.3f %8s %10s%n", entry.getKey(), "-", now.score(), "new", "");
+                continue;
+            }
+            double time = change(before.score(), now.score());
+            double alloc = change(before.allocBytes(), now.allocBytes());
+            boolean bad = time > threshold || alloc > threshold;
+            regressed |= bad;
+            System.out.printf("%-70s %12.3f %12.3f %+7.1f%% %+9.1f%%%s%n", entry.getKey(), before.score(),
+                    now.score(), time, alloc, bad ? "  REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static double change(double before, double now) {
+        return before <= 0 ? 0 : (now - before) * 100 / before;
+    }
+
+    private static Map<String, Result> parse(Path file) throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        Matcher matcher = ENTRY.matcher(Files.readString(file));
+        while (matcher.find()) {
+            String params = matcher.group(2) == null ? "" : matcher.group(2).replaceAll("[\"\\s]", "");
+            String name = matcher.group(1) + (params.isEmpty() ? "" : "{" + params + "}");
+            Matcher alloc = ALLOC.matcher(matcher.group(5));
+            results.put(name, new Result(Double.parseDouble(matcher.group(3)),
+                    alloc.find() ? Double.parseDouble(alloc.group(1)) : 0, matcher.group(4)));
+        }
+        return results;
+    }
+}
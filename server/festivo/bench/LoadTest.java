@@ -0,0 +1,213 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-model load generator for the booking journey: log in, browse themes,
+ * create an event, place a supplier order, accept it and pay. Journeys are
+ * started on a fixed schedule whether or not earlier ones have finished, and
+ * journey latency is taken from the scheduled start, so a stalled server
+ * shows up as queueing time instead of silently lowering the offered load.
+ *
+ *   java bench/LoadTest.java http://localhost:8080 20 60 5000
+ *
+ * (base url, journeys per second, seconds, number of seeded users).
+ *
+ * Themes and suppliers are booked per date, so every journey takes a day of
+ * its own, after the seeded bookings, with a random seeded theme and
+ * supplier. Journeys then never collide with each other's bookings.
+ */
+public class LoadTest {
+
+    private static final String[] EVENT_TYPES = {"Wedding", "Birthday", "Corporate", "Engagement", "Anniversary"};
+    // LoadTestSeeder defaults; its bookings all fall in 2026
+    private static final int THEMES = 300;
+    private static final int SUPPLIERS = 500;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2027, 1, 1);
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ORDER_ID = Pattern.compile(
+            "\"supplierOrders\"\\s*:\\s*\\[\\s*\\{\\s*\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final Map<String, Stats> STATS = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    static final class Stats {
+        final List<Long> micros = Collections.synchronizedList(new ArrayList<>());
+        final AtomicLong errors = new AtomicLong();
+    }
+
+    static final class StepFailed extends RuntimeException {
+        StepFailed(String step, String detail) {
+            super(step + ": " + detail);
+        }
+    }
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final int users;
+
+    LoadTest(String baseUrl, int users) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        double rate = args.length > 1 ? Double.parseDouble(args[1]) : 20;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int users = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+
+        LoadTest test = new LoadTest(baseUrl, users);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long total = (long) (rate * seconds);
+        long begin = System.nanoTime();
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long k = 0; k < total; k++) {
+                long intended = begin + k * interval;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                LocalDate day = FIRST_DAY.plusDays(k);
+                pool.submit(() -> test.journey(intended, day));
+            }
+        }
+        double elapsed = (System.nanoTime() - begin) / 1e9;
+
+        System.out.printf("Offered %.1f journeys/s for %d s, %d journeys in %.1f s%n", rate, seconds, total, elapsed);
+        System.out.printf("%-34s %8s %7s %8s %9s %9s %9s %9s%n",
+                "step", "count", "errors", "rps", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        synchronized (STATS) {
+            STATS.forEach((name, stats) -> print(name, stats, elapsed));
+        }
+    }
+
+    private void journey(long intended, LocalDate day) {
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String email = "user" + random.nextInt(users) + "@loadtest.festivo.lk";
+            String theme = "Theme " + random.nextInt(THEMES);
+            String supplier = "supplier" + random.nextInt(SUPPLIERS) + "@loadtest.festivo.lk";
+            String login = call("POST /auth/login", "POST", "/auth/login", null,
+                    "{\"email\":\"" + email + "\",\"password\":\"loadtest\"}");
+            String token = find(TOKEN, login, "POST /auth/login");
+
+            String eventType = EVENT_TYPES[random.nextInt(EVENT_TYPES.length)];
+            call("GET /public/event-theme", "GET", "/public/event-theme", token, null);
+            call("GET /public/event-theme/{event}", "GET", "/public/event-theme/" + eventType, token, null);
+
+            String event = call("POST /public/addEvent", "POST", "/public/addEvent", token, """
+                    {"eventName":"Load test %s","eventTheme":"%s","eventDate":"%s",
+                     "eventType":"%s","noOfGuest":150,"specialRequest":"none","eventPackage":"Gold"}"""
+                    .formatted(email, theme, day, eventType));
+            String eventId = find(ID, event, "POST /public/addEvent");
+
+            call("POST /public/supplierOrder", "POST", "/public/supplierOrder", token, """
+                    {"eventName":"Load test","eventPackage":"Gold","eventTheme":"%s","eventType":"%s",
+                     "noOfGuest":150,"specialRequest":"none","eventDate":"%s","eventId":"%s",
+                     "supplierCategory":"Catering"}""".formatted(theme, eventType, day, eventId));
+
+            String detail = call("GET /public/eventDetail/{id}", "GET", "/public/eventDetail/" + eventId, token, null);
+            String orderId = find(ORDER_ID, detail, "GET /public/eventDetail/{id}");
+
+            call("PUT /public/supplierOrder/status/{id}", "PUT", "/public/supplierOrder/status/" + orderId, token, """
+                    {"status":"ACCEPTED","acceptedSupplier":"%s","amount":"120000"}""".formatted(supplier));
+
+            call("POST /public/addPayment", "POST", "/public/addPayment", token, """
+                    {"name":"Load Test","email":"%s","phoneNumber":771234567,"address":"1 Galle Road",
+                     "cardNumber":4111111111111111,"cardType":"VISA","expDate":"12/29","cvv":123,
+                     "orderSummery":"Gold package","amount":120000}""".formatted(email));
+
+            record("journey", intended, false);
+        } catch (Exception e) {
+            record("journey", intended, true);
+        }
+    }
+
+    private String call(String step, String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            boolean failed = response.statusCode() >= 400;
+            record(step, start, failed);
+            if (failed) {
+                throw new StepFailed(step, "HTTP " + response.statusCode());
+            }
+            return response.body();
+        } catch (StepFailed e) {
+            throw e;
+        } catch (Exception e) {
+            record(step, start, true);
+            throw e;
+        }
+    }
+
+    private static String find(Pattern pattern, String body, String step) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new StepFailed(step, "unexpected body");
+        }
+        return matcher.group(1);
+    }
+
+    private static void record(String step, long startNanos, boolean failed) {
+        Stats stats = STATS.computeIfAbsent(step, s -> new Stats());
+        if (failed) {
+            stats.errors.incrementAndGet();
+        } else {
+            stats.micros.add((System.nanoTime() - startNanos) / 1_000);
+        }
+    }
+
+    private static void print(String name, Stats stats, double elapsed) {
+        List<Long> sorted;
+        synchronized (stats.micros) {
+            sorted = new ArrayList<>(stats.micros);
+        }
+        Collections.sort(sorted);
+        System.out.printf("%-34s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, sorted.size(), stats.errors.get(), sorted.size() / elapsed,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1) / 1000.0);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1000.0;
+    }
+}
@@ -0,0 +1,92 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load driver used to compare the platform-thread and
+ * virtual-thread execution modes. Run with:
+ *
+ *   java bench/ThreadModeBench.java http://localhost:8080 400 30
+ *
+ * (base url, concurrent clients, seconds). Prints throughput and latency
+ * percentiles per endpoint.
+ */
+public class ThreadModeBench {
+
+    private static final List<String> PATHS = List.of(
+            "/public/event-theme",
+            "/supplier/get-products",
+            "/public/getAllFeedback",
+            "/public/supplierOrder/get-all"
+    );
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<List<Long>> latencies = new ArrayList<>();
+        List<AtomicLong> errors = new ArrayList<>();
+        for (int i = 0; i < PATHS.size(); i++) {
+            latencies.add(Collections.synchronizedList(new ArrayList<>()));
+            errors.add(new AtomicLong());
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                final int offset = c;
+                pool.submit(() -> {
+                    int n = offset;
+                    while (System.nanoTime() < deadline) {
+                        int idx = n++ % PATHS.size();
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + PATHS.get(idx)))
+                                .timeout(Duration.ofSeconds(30)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.get(idx).incrementAndGet();
+                            }
+                            latencies.get(idx).add(System.nanoTime() - start);
+                        } catch (Exception e) {
+                            errors.get(idx).incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        System.out.printf("%-32s %10s %8s %10s %10s %10s%n", "endpoint", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms");
+        for (int i = 0; i < PATHS.size(); i++) {
+            long[] sorted = latencies.get(i).stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            System.out.printf("%-32s %10.1f %8d %10.1f %10.1f %10.1f%n", PATHS.get(i),
+                    sorted.length / (double) seconds, errors.get(i).get(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Starts the app in platform-thread mode and then in virtual-thread mode and
+# runs the same ThreadModeBench load against each.
+# Usage: bench/compare-thread-modes.sh [clients] [seconds]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CLIENTS=${1:-400}
+SECONDS_PER_RUN=${2:-30}
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/festivo-*.jar | grep -v original | head -1)
+
+run_mode() {
+  local label=$1; shift
+  java -jar "$JAR" "$@" > "target/bench-$label.log" 2>&1 &
+  local pid=$!
+  until curl -s -o /dev/null http://localhost:8080/public/getAllFeedback; do sleep 1; done
+  echo "== $label =="
+  java bench/ThreadModeBench.java http://localhost:8080 "$CLIENTS" "$SECONDS_PER_RUN"
+  kill "$pid"; wait "$pid" || true
+}
+
+run_mode platform
+run_mode virtual --spring.profiles.active=virtual
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Starts the app under the loadtest profile (embedded mongod, seeded data),
+# waits until the last seeded user can log in, then runs the open-model
+# journey load against it.
+# Usage: bench/loadtest.sh [journeys per second] [seconds]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RATE=${1:-20}
+SECONDS_PER_RUN=${2:-60}
+USERS=${USERS:-5000}
+URL=http://localhost:8080
+
+${MVN:-sh mvnw} -q -Ploadtest test-compile spring-boot:test-run \
+  -Dspring-boot.run.arguments="--festivo.loadtest.seed.users=$USERS" > target/loadtest-app.log 2>&1 &
+APP=$!
+trap 'kill "$APP" 2>/dev/null || true; wait "$APP" 2>/dev/null || true' EXIT
+
+LAST="{\"email\":\"user$((USERS - 1))@loadtest.festivo.lk\",\"password\":\"loadtest\"}"
+until curl -s -H 'Content-Type: application/json' -d "$LAST" "$URL/auth/login" | grep -q '"token"'; do
+  kill -0 "$APP" 2>/dev/null || { echo "App exited, see target/loadtest-app.log"; exit 1; }
+  sleep 2
+done
+
+java bench/LoadTest.java "$URL" "$RATE" "$SECONDS_PER_RUN" "$USERS"
@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Runs the JMH suite with the GC profiler and compares it with the committed
+# baseline. Fails when a benchmark got more than THRESHOLD percent slower or
+# allocates that much more per operation.
+# Usage: bench/run-jmh.sh [benchmark regex] [--update-baseline]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+FILTER=${1:-.}
+THRESHOLD=${THRESHOLD:-10}
+RESULT=target/jmh-result.json
+
+${MVN:-sh mvnw} -q -Pjmh test-compile exec:exec -Djmh.args="$FILTER -prof gc -rf json -rff $RESULT"
+
+if [[ "${2:-}" == "--update-baseline" ]]; then
+  cp "$RESULT" bench/jmh-baseline.json
+  echo "Baseline updated"
+else
+  java bench/CompareJmh.java bench/jmh-baseline.json "$RESULT" "$THRESHOLD"
+fi
@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Time-to-first-request and resident memory of a fresh instance in each
+# startup mode. Build first with: mvn -Paot -DskipTests package
+# (and mvn -Pnative -DskipTests native:compile for the native row).
+# Usage: bench/startup-bench.sh [runs per mode]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-8081}
+PROBE="http://localhost:$PORT/actuator/health/liveness"
+APP=target/app/festivo-0.0.1-SNAPSHOT.jar
+JSA=target/app/festivo.jsa
+ARGS="--server.port=$PORT"
+
+[[ -f "$APP" ]] || { echo "Missing $APP, run: mvn -Paot -DskipTests package"; exit 1; }
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+# Prints "<ms to first response> <RSS in MB once it answered>"
+measure() {
+  local start pid rss
+  start=$(now_ms)
+  "$@" $ARGS > target/startup-bench.log 2>&1 &
+  pid=$!
+  until curl -s -o /dev/null "$PROBE"; do
+    kill -0 "$pid" 2>/dev/null || { echo "failed, see target/startup-bench.log" >&2; return 1; }
+    sleep 0.01
+  done
+  echo -n "$(( $(now_ms) - start )) "
+  rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+  echo $(( rss / 1024 ))
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+}
+
+run_mode() {
+  local label=$1; shift
+  local times=() rss=()
+  for ((i = 0; i < RUNS; i++)); do
+    read -r t r < <(measure "$@")
+    times+=("$t"); rss+=("$r")
+  done
+  local mid=$((RUNS / 2))
+  printf "%-22s %10s %10s\n" "$label" \
+    "$(printf '%s\n' "${times[@]}" | sort -n | sed -n "$((mid + 1))p")" \
+    "$(printf '%s\n' "${rss[@]}" | sort -n | sed -n "$((mid + 1))p")"
+}
+
+printf "%-22s %10s %10s\n" "mode (median of $RUNS)" "ttfr ms" "rss MB"
+run_mode jvm java -jar "$APP"
+run_mode aot java -Dspring.aot.enabled=true -jar "$APP"
+run_mode aot+cds java -XX:SharedArchiveFile="$JSA" -Dspring.aot.enabled=true -jar "$APP"
+run_mode aot+cds+fast-start java -XX:SharedArchiveFile="$JSA" -Dspring.aot.enabled=true -jar "$APP" \
+  --spring.profiles.active=fast-start
+if [[ -x target/festivo ]]; then
+  run_mode native target/festivo
+fi
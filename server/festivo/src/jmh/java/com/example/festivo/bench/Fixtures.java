@@ -0,0 +1,107 @@
+package com.example.festivo.bench;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.eventEntity.ThemePackage;
+import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.entity.userentity.OurUsers;
+
+/**
+ * Seeded test data shaped like production documents (field lengths, enum
+ * values, three packages per theme).
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static List<SupplierReq> orders(Random random, int n) {
+        List<SupplierReq> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(new SupplierReq(id(random), "Event " + i, "Gold package", "Garden party",
+                    pick(random, "Wedding", "Birthday", "Corporate"), 50 + random.nextInt(450),
+                    "Vegetarian menu for half of the guests, stage lighting after 7pm",
+                    new Date(1_700_000_000_000L + random.nextInt(1_000_000_000)), id(random),
+                    pick(random, "Catering", "Decoration", "Sound", "Photography"),
+                    pick(random, "PENDING", "ACCEPTED", "REJECTED"),
+                    "supplier" + random.nextInt(200) + "@festivo.lk", String.valueOf(10_000 + random.nextInt(500_000))));
+        }
+        return list;
+    }
+
+    static List<SupplierPaymentEntity> payments(Random random, int n) {
+        List<SupplierPaymentEntity> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(new SupplierPaymentEntity(id(random), "supplier" + random.nextInt(200) + "@festivo.lk",
+                    id(random), id(random), BigDecimal.valueOf(10_000 + random.nextInt(500_000), 2),
+                    pick(random, "CARD", "BANK_TRANSFER", "CASH"), pick(random, "PENDING", "PAID"),
+                    new Date(1_700_000_000_000L + random.nextInt(1_000_000_000)),
+                    new Date(1_700_000_000_000L + random.nextInt(1_000_000_000))));
+        }
+        return list;
+    }
+
+    static List<EventTheme> themes(Random random, int n) {
+        List<EventTheme> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<ThemePackage> packages = new ArrayList<>();
+            for (String name : List.of("Silver", "Gold", "Platinum")) {
+                packages.add(new ThemePackage(name, 25_000 + random.nextInt(200_000),
+                        name + " package with decoration, catering and photography", id(random)));
+            }
+            list.add(new EventTheme(id(random), pick(random, "Wedding", "Birthday", "Corporate"),
+                    "Theme " + i, pick(random, "#f4c2c2", "#ffffff", "#222244"), 50_000.0 + random.nextInt(500_000),
+                    "Full venue styling with matching table settings and lighting",
+                    "https://res.cloudinary.com/festivo/image/upload/v1/themes/" + id(random) + ".jpg", packages,
+                    new Date()));
+        }
+        return list;
+    }
+
+    static List<SupplierProductEntity> products(Random random, int n) {
+        List<SupplierProductEntity> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(new SupplierProductEntity(id(random), "supplier" + i + "@festivo.lk", "Product " + i,
+                    BigDecimal.valueOf(1_000 + random.nextInt(100_000), 2), String.valueOf(1 + random.nextInt(500)),
+                    "Hand-made centrepieces with fresh seasonal flowers, delivered and set up on the day. "
+                            + "Colours can be matched to the theme; allow two weeks for custom orders.",
+                    "https://res.cloudinary.com/festivo/image/upload/v1/products/" + id(random) + ".jpg", new Date()));
+        }
+        return list;
+    }
+
+    static List<OurUsers> users(Random random, int n) {
+        List<OurUsers> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(user(random, "user" + i + "@festivo.lk"));
+        }
+        return list;
+    }
+
+    static String id(Random random) {
+        return Long.toHexString(random.nextLong()) + Integer.toHexString(random.nextInt());
+    }
+
+    static String pick(Random random, String... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    static OurUsers user(Random random, String email) {
+        OurUsers user = new OurUsers();
+        user.setId(id(random));
+        user.setEmail(email);
+        user.setName("Nimal Perera");
+        user.setPassword("$2a$10$" + id(random) + id(random) + id(random));
+        user.setPhoneNumber("0771234567");
+        user.setRole("USER");
+        user.setGender("Male");
+        return user;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.festivo.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.festivo.dto.userdto.ReqRes;
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.service.userservice.JWTUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson cost of the most common response bodies: the login ReqRes, and
+ * the theme and supplier order lists at the sizes the list endpoints return.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    // Only the list benchmarks depend on the size
+    @State(Scope.Benchmark)
+    public static class Lists {
+
+        @Param({"50", "500"})
+        public int size;
+
+        List<EventTheme> themes;
+        List<SupplierReq> orders;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            themes = Fixtures.themes(random, size);
+            orders = Fixtures.orders(random, size);
+        }
+    }
+
+    private ObjectMapper mapper;
+    private ReqRes login;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        JWTUtils jwtUtils = new JWTUtils();
+        login = new ReqRes();
+        login.setStatusCode(200);
+        login.setOurUsers(Fixtures.user(random, "nimal@festivo.lk"));
+        login.setToken(jwtUtils.generateToken(login.getOurUsers()));
+        login.setRefreshToken(jwtUtils.generateToken(login.getOurUsers()));
+        login.setRole("USER");
+        login.setExpirationTime("24Hrs");
+        login.setMessage("Successfully Logged In");
+    }
+
+    @Benchmark
+    public byte[] reqRes() throws Exception {
+        return mapper.writeValueAsBytes(login);
+    }
+
+    @Benchmark
+    public byte[] eventThemes(Lists lists) throws Exception {
+        return mapper.writeValueAsBytes(lists.themes);
+    }
+
+    @Benchmark
+    public byte[] supplierOrders(Lists lists) throws Exception {
+        return mapper.writeValueAsBytes(lists.orders);
+    }
+}
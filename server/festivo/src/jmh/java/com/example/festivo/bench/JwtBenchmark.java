@@ -0,0 +1,98 @@
+package com.example.festivo.bench;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.festivo.config.JWTAuthFilter;
+import com.example.festivo.entity.userentity.OurUsers;
+import com.example.festivo.repository.userrepository.UsersRepo;
+import com.example.festivo.service.userservice.JWTUtils;
+import com.example.festivo.service.userservice.OurUserDetailsService;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Token issue and verification, and the whole JWTAuthFilter pass for a signed
+ * in request. The user lookup is a stub, so the filter numbers are CPU cost
+ * only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JWTUtils jwtUtils;
+    private JWTAuthFilter filter;
+    private OurUsers user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user(new Random(42), "nimal@festivo.lk");
+        jwtUtils = new JWTUtils();
+        token = jwtUtils.generateToken(user);
+
+        OurUserDetailsService userDetailsService = new OurUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "usersRepo",
+                Stubs.repository(UsersRepo.class, (method, args) -> Optional.of(user)));
+
+        filter = new JWTAuthFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "ourUserDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "observationRegistry", ObservationRegistry.NOOP);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return jwtUtils.extractUserName(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtils.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public Object filterSignedIn() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/adminuser/get-profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object filterAnonymous() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public/event-theme");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return request;
+    }
+}
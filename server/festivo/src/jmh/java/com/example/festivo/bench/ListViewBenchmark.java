@@ -0,0 +1,87 @@
+package com.example.festivo.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.festivo.dto.EventThemeDTO.EventThemeSummaryDTO;
+import com.example.festivo.dto.supplierProductsDto.SupplierProductSummaryDTO;
+import com.example.festivo.dto.userdto.UserSummaryDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Full documents against the ?view=summary projections of the three list
+ * endpoints. JSON and gzip sizes are printed once per trial, so
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="ListViewBenchmark"
+ *
+ * gives bytes on the wire per view next to the encode cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListViewBenchmark {
+
+    @Param({"full", "summary"})
+    public String view;
+
+    @Param({"EventTheme", "SupplierProduct", "OurUsers"})
+    public String payload;
+
+    @Param({"500"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<?> value;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        Random random = new Random(42);
+        boolean summary = view.equals("summary");
+        value = switch (payload) {
+            case "SupplierProduct" -> summary
+                    ? Fixtures.products(random, size).stream().map(SupplierProductSummaryDTO::from).toList()
+                    : Fixtures.products(random, size);
+            case "OurUsers" -> summary
+                    ? Fixtures.users(random, size).stream().map(user -> new UserSummaryDTO(user.getId(),
+                            user.getEmail(), user.getName(), user.getPhoneNumber(), user.getRole(),
+                            user.getGender())).toList()
+                    : Fixtures.users(random, size);
+            default -> summary
+                    ? Fixtures.themes(random, size).stream().map(EventThemeSummaryDTO::from).toList()
+                    : Fixtures.themes(random, size);
+        };
+        byte[] json = mapper.writeValueAsBytes(value);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(gzipped)) {
+            gz.write(json);
+        }
+        System.out.printf("%n%s x%d, %s view: %d bytes JSON, %d bytes gzip%n",
+                payload, size, view, json.length, gzipped.size());
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(value);
+    }
+}
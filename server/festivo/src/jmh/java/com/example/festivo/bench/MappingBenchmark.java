@@ -0,0 +1,119 @@
+package com.example.festivo.bench;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.festivo.controller.supplierOrders.SupplierOrderReqController;
+import com.example.festivo.dto.EventThemeDTO.EventThemeRequestDTO;
+import com.example.festivo.dto.EventThemeDTO.ThemePackageDTO;
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.repository.eventThemeRepository.EventThemRepository;
+import com.example.festivo.repository.supplierOrderReqRepository.SupplierOrderReqRepo;
+import com.example.festivo.repository.userrepository.EventRepo;
+import com.example.festivo.service.catalogService.CatalogCache;
+import com.example.festivo.service.coalescingService.RequestCoalescer;
+import com.example.festivo.service.eventThemeService.EventThemeService;
+import com.example.festivo.service.rawBsonService.RawBsonStreamer;
+import com.example.festivo.service.resilienceService.MongoGuard;
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
+import com.mongodb.client.MongoClients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * DTO to entity mapping in EventThemeService.createEventTheme (including the
+ * guard and cache invalidation around the save) and the entity to DTO stream
+ * in SupplierOrderReqController's by-category endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Orders {
+
+        @Param({"100", "1000"})
+        public int orders;
+
+        SupplierOrderReqController controller;
+
+        @Setup
+        public void setUp() {
+            List<SupplierReq> byCategory = Fixtures.orders(new Random(7), orders);
+            controller = new SupplierOrderReqController(null,
+                    Stubs.repository(SupplierOrderReqRepo.class, (method, args) -> byCategory));
+        }
+    }
+
+    private EventThemeService eventThemeService;
+    private EventThemeRequestDTO themeRequest;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        EventThemRepository themes = Stubs.repository(EventThemRepository.class, (method, args) -> {
+            EventTheme theme = (EventTheme) args[0];
+            theme.setId("6650c0ffee");
+            return theme;
+        });
+        MongoGuard mongoGuard = new MongoGuard(64, 32, Duration.ofMillis(100), 50, 20, 0.5, 0.8,
+                Duration.ofSeconds(1), Duration.ofSeconds(10), 5, Duration.ofMinutes(10), 1000, meterRegistry);
+        ResponseByteCache responseByteCache = new ResponseByteCache(Jackson2ObjectMapperBuilder.json().build(),
+                new MappingJackson2CborHttpMessageConverter(), new MappingJackson2SmileHttpMessageConverter(),
+                meterRegistry);
+        MongoTemplate mongoTemplate = new MongoTemplate(MongoClients.create("mongodb://localhost:1"), "bench");
+        eventThemeService = new EventThemeService(themes, Stubs.repository(EventRepo.class, (method, args) -> null),
+                new RequestCoalescer(new MockEnvironment(), meterRegistry, Duration.ofSeconds(5)),
+                responseByteCache, mongoGuard, new CatalogCache(mongoTemplate,
+                        new MappingJackson2SmileHttpMessageConverter(), responseByteCache, meterRegistry,
+                        Path.of("target/bench-catalog.bin"), false, Duration.ofHours(1)),
+                new RawBsonStreamer(mongoTemplate, Jackson2ObjectMapperBuilder.json().build(),
+                        new MappingJackson2CborHttpMessageConverter(), new MappingJackson2SmileHttpMessageConverter()));
+
+        List<ThemePackageDTO> packages = new ArrayList<>();
+        for (String name : List.of("Silver", "Gold", "Platinum")) {
+            packages.add(new ThemePackageDTO(name, 75_000, name + " package with decoration and catering", Fixtures.id(random)));
+        }
+        themeRequest = new EventThemeRequestDTO("Wedding", "Rose Garden", "#f4c2c2", 150_000.0,
+                "Full venue styling with matching table settings and lighting",
+                "https://res.cloudinary.com/festivo/image/upload/v1/themes/rose.jpg", packages);
+    }
+
+    @Benchmark
+    public Object createEventTheme() {
+        return eventThemeService.createEventTheme(themeRequest);
+    }
+
+    @Benchmark
+    public Object supplierOrdersByCategory(Orders state) {
+        return state.controller.getSupplierOrdersByCategory("Catering");
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.festivo.bench;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.example.festivo.service.rawBsonService.RawBsonStreamer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClients;
+
+/**
+ * The two read paths for a list response, starting from the raw BSON a
+ * cursor hands back: map each document to an entity and let Jackson write
+ * the list, or stream the BSON straight into the generator. Run with the GC
+ * profiler to compare bytes allocated per op:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="RawBsonStreamBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RawBsonStreamBenchmark {
+
+    @Param({"EventTheme", "SupplierPaymentEntity"})
+    public String payload;
+
+    @Param({"1000"})
+    public int size;
+
+    private MongoTemplate mongoTemplate;
+    private ObjectMapper mapper;
+    private RawBsonStreamer streamer;
+    private Class<?> type;
+    private List<RawBsonDocument> documents;
+    private final DocumentCodec codec = new DocumentCodec();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoTemplate = new MongoTemplate(MongoClients.create("mongodb://localhost:1"), "bench");
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        streamer = new RawBsonStreamer(mongoTemplate, mapper, new MappingJackson2CborHttpMessageConverter(),
+                new MappingJackson2SmileHttpMessageConverter());
+        Random random = new Random(42);
+        List<?> entities = payload.equals("EventTheme")
+                ? Fixtures.themes(random, size)
+                : Fixtures.payments(random, size);
+        type = entities.get(0).getClass();
+        documents = new ArrayList<>(size);
+        for (Object entity : entities) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(entity, document);
+            documents.add(new RawBsonDocument(document, new DocumentCodec()));
+        }
+    }
+
+    // Both write to a discarding stream, as the response does, so buffer growth is not measured
+    @Benchmark
+    public void mapped() throws Exception {
+        List<Object> entities = new ArrayList<>();
+        for (RawBsonDocument document : documents) {
+            // What the driver and MappingMongoConverter do for a repository find
+            entities.add(mongoTemplate.getConverter().read(type, document.decode(codec)));
+        }
+        mapper.writeValue(OutputStream.nullOutputStream(), entities);
+    }
+
+    @Benchmark
+    public void streamed() throws Exception {
+        try (JsonGenerator generator = mapper.createGenerator(OutputStream.nullOutputStream())) {
+            streamer.write(type, documents.iterator(), generator);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.festivo.bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Encode and decode cost of the large list payloads in JSON, CBOR and Smile.
+ * Payload sizes are printed once per trial, e.g.
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="SerializationFormatBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"SupplierReq", "SupplierPaymentEntity", "EventTheme"})
+    public String payload;
+
+    @Param({"1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private List<?> value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        Random random = new Random(42);
+        value = switch (payload) {
+            case "SupplierPaymentEntity" -> Fixtures.payments(random, size);
+            case "EventTheme" -> Fixtures.themes(random, size);
+            default -> Fixtures.orders(random, size);
+        };
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, value.get(0).getClass());
+        encoded = mapper.writeValueAsBytes(value);
+        System.out.printf("%n%s x%d as %s: %d bytes%n", payload, size, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return mapper.readValue(encoded, listType);
+    }
+}
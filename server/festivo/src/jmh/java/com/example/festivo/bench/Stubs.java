@@ -0,0 +1,31 @@
+package com.example.festivo.bench;
+
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+
+/**
+ * Repository stand-ins built from JDK proxies, so benchmarks measure the code
+ * around the repository rather than a mocking framework.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * @param answer receives the method name and arguments; its result is returned as-is
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, BiFunction<String, Object[], Object> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            return answer.apply(method.getName(), args == null ? new Object[0] : args);
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.festivo.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+
+import de.flapdoodle.embed.mongo.commands.MongodArguments;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.config.Storage;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import de.flapdoodle.reverse.transitions.Start;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts a throwaway mongod (downloaded once and cached under ~/.embedmongo)
+ * before any bean exists, by default as a single-member replica set, and
+ * points spring.data.mongodb.uri at it. Only
+ * active with the loadtest Spring profile and festivo.loadtest.embedded=true.
+ */
+@Slf4j
+public class EmbeddedMongoInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    private static final String REPLICA_SET = "rs0";
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        ConfigurableEnvironment environment = context.getEnvironment();
+        if (!Arrays.asList(environment.getActiveProfiles()).contains("loadtest")
+                || !environment.getProperty("festivo.loadtest.embedded", Boolean.class, false)) {
+            return;
+        }
+
+        String version = environment.getProperty("festivo.loadtest.mongo-version", "7.0");
+        boolean replicaSet = environment.getProperty("festivo.loadtest.replica-set", Boolean.class, true);
+        Mongod instance = replicaSet
+                ? Mongod.instance().withMongodArguments(Start.to(MongodArguments.class)
+                        .initializedWith(MongodArguments.defaults().withReplication(Storage.of(REPLICA_SET, 64))))
+                : Mongod.instance();
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod =
+                instance.start(Version.Main.valueOf("V" + version.replace('.', '_')));
+        ServerAddress address = mongod.current().getServerAddress();
+        String host = address.getHost() + ":" + address.getPort();
+        if (replicaSet) {
+            initiate(host);
+        }
+        String database = environment.getProperty("spring.data.mongodb.database", "festivo_loadtest");
+        String uri = "mongodb://" + host + "/" + database + (replicaSet ? "?directConnection=true" : "");
+        log.info("Embedded mongod {} listening on {}", version, uri);
+
+        environment.getPropertySources().addFirst(new MapPropertySource("embeddedMongo",
+                Map.of("spring.data.mongodb.uri", uri)));
+        context.addApplicationListener(event -> {
+            if (event instanceof ContextClosedEvent) {
+                mongod.close();
+            }
+        });
+    }
+
+    // Single-member replica set, so change streams (cache coherence) work as in production
+    private static void initiate(String host) {
+        try (MongoClient client = MongoClients.create("mongodb://" + host + "/?directConnection=true")) {
+            MongoDatabase admin = client.getDatabase("admin");
+            admin.runCommand(new Document("replSetInitiate", new Document("_id", REPLICA_SET)
+                    .append("members", List.of(new Document("_id", 0).append("host", host)))));
+            for (int i = 0; i < 300; i++) {
+                if (Boolean.TRUE.equals(admin.runCommand(new Document("hello", 1)).getBoolean("isWritablePrimary"))) {
+                    return;
+                }
+                Thread.sleep(100);
+            }
+            throw new IllegalStateException("Replica set " + REPLICA_SET + " did not elect a primary");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
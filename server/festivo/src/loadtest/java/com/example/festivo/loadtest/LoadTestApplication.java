@@ -0,0 +1,20 @@
+package com.example.festivo.loadtest;
+
+import org.springframework.boot.SpringApplication;
+
+import com.example.festivo.FestivoApplication;
+
+/**
+ * Runs the real application with the loadtest profile on top, so the
+ * embedded mongod and the seeder kick in:
+ *
+ *   mvn -Ploadtest test-compile spring-boot:test-run
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.from(FestivoApplication::main)
+                .withAdditionalProfiles("loadtest")
+                .run(args);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.festivo.loadtest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.eventEntity.ThemePackage;
+import com.example.festivo.entity.paymententity.Payment;
+import com.example.festivo.entity.suplierEntity.SupplierEntity;
+import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.entity.userentity.Event;
+import com.example.festivo.entity.userentity.Feedback;
+import com.example.festivo.entity.userentity.OurUsers;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds the load-test database before the app reports ready. Users are
+ * written last, so a successful login as the last seeded user means the
+ * whole data set is in place. Every user's password is "loadtest".
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder implements CommandLineRunner {
+
+    static final String PASSWORD = "loadtest";
+    static final String[] EVENT_TYPES = {"Wedding", "Birthday", "Corporate", "Engagement", "Anniversary"};
+    static final String[] CATEGORIES = {"Catering", "Decoration", "Sound", "Photography", "Transport"};
+
+    private static final int BATCH = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Random random = new Random(42);
+
+    @Value("${festivo.loadtest.seed.users:5000}")
+    private int users;
+    @Value("${festivo.loadtest.seed.suppliers:500}")
+    private int suppliers;
+    @Value("${festivo.loadtest.seed.themes:300}")
+    private int themes;
+    @Value("${festivo.loadtest.seed.events:10000}")
+    private int events;
+    @Value("${festivo.loadtest.seed.orders:20000}")
+    private int orders;
+    @Value("${festivo.loadtest.seed.payments:20000}")
+    private int payments;
+    @Value("${festivo.loadtest.seed.feedback:2000}")
+    private int feedback;
+
+    public LoadTestSeeder(MongoTemplate mongoTemplate, PasswordEncoder passwordEncoder) {
+        this.mongoTemplate = mongoTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (mongoTemplate.getCollection("users").estimatedDocumentCount() >= users) {
+            log.info("Load-test data already present, skipping seed");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        mongoTemplate.getDb().drop();
+
+        insert(suppliers, this::supplier);
+        insert(suppliers, this::product);
+        insert(themes, this::theme);
+        List<Event> savedEvents = insert(events, this::event);
+        List<SupplierReq> savedOrders = insert(orders, i -> order(savedEvents.get(random.nextInt(savedEvents.size()))));
+        insert(payments, i -> supplierPayment(savedOrders.get(random.nextInt(savedOrders.size()))));
+        insert(payments, this::payment);
+        insert(feedback, this::feedback);
+
+        // One hash for everyone; hashing thousands of passwords would dominate the seed time
+        String hash = passwordEncoder.encode(PASSWORD);
+        insert(users, i -> user(i, hash));
+
+        log.info("Seeded {} users, {} suppliers, {} themes, {} events, {} orders, {} payments in {} ms",
+                users, suppliers, themes, events, orders, payments, System.currentTimeMillis() - start);
+    }
+
+    private <T> List<T> insert(int count, IntFunction<T> factory) {
+        List<T> saved = new ArrayList<>(count);
+        for (int from = 0; from < count; from += BATCH) {
+            List<T> batch = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(count, from + BATCH); i++) {
+                batch.add(factory.apply(i));
+            }
+            saved.addAll(mongoTemplate.insertAll(batch));
+        }
+        return saved;
+    }
+
+    private OurUsers user(int i, String passwordHash) {
+        OurUsers user = new OurUsers();
+        user.setEmail("user" + i + "@loadtest.festivo.lk");
+        user.setName("Load Test User " + i);
+        user.setPassword(passwordHash);
+        user.setPhoneNumber("07" + (10_000_000 + random.nextInt(89_999_999)));
+        user.setRole("USER");
+        user.setGender(random.nextBoolean() ? "Male" : "Female");
+        return user;
+    }
+
+    private SupplierEntity supplier(int i) {
+        return new SupplierEntity(null, "supplier" + i + "@loadtest.festivo.lk", "Supplier Company " + i,
+                pick(CATEGORIES), i + " Galle Road, Colombo", null);
+    }
+
+    private SupplierProductEntity product(int i) {
+        return new SupplierProductEntity(null, "supplier" + i + "@loadtest.festivo.lk", pick(CATEGORIES) + " package " + i,
+                BigDecimal.valueOf(10_000 + random.nextInt(490_000)), String.valueOf(1 + random.nextInt(50)),
+                "Full service for up to 300 guests, setup and cleanup included",
+                "https://res.cloudinary.com/festivo/image/upload/v1/products/" + i + ".jpg", null);
+    }
+
+    private EventTheme theme(int i) {
+        List<ThemePackage> packages = new ArrayList<>();
+        for (String name : List.of("Silver", "Gold", "Platinum")) {
+            packages.add(new ThemePackage(name, 25_000 + random.nextInt(200_000),
+                    name + " package with decoration, catering and photography", name.toLowerCase() + "-" + i));
+        }
+        return new EventTheme(null, EVENT_TYPES[i % EVENT_TYPES.length], "Theme " + i,
+                pick("#f4c2c2", "#ffffff", "#222244", "#c9a227"), 50_000.0 + random.nextInt(500_000),
+                "Full venue styling with matching table settings and lighting",
+                "https://res.cloudinary.com/festivo/image/upload/v1/themes/" + i + ".jpg", packages, null);
+    }
+
+    private Event event(int i) {
+        Event event = new Event();
+        event.setEventName("Event " + i);
+        event.setEventType(pick(EVENT_TYPES));
+        event.setEventTheme("Theme " + random.nextInt(themes));
+        event.setEventDate("2026-" + (1 + random.nextInt(12)) + "-" + (1 + random.nextInt(28)));
+        event.setNoOfGuest(50 + random.nextInt(450));
+        event.setEventPackage(pick("Silver", "Gold", "Platinum"));
+        event.setSpecialRequest("Vegetarian menu for half of the guests");
+        return event;
+    }
+
+    private SupplierReq order(Event event) {
+        boolean accepted = random.nextInt(3) == 0;
+        return new SupplierReq(null, event.getEventName(), event.getEventPackage(), event.getEventTheme(),
+                event.getEventType(), event.getNoOfGuest(), event.getSpecialRequest(),
+                new Date(1_780_000_000_000L + random.nextInt(1_000_000_000)), event.getId(), pick(CATEGORIES),
+                accepted ? "ACCEPTED" : "Ongoing",
+                accepted ? "supplier" + random.nextInt(suppliers) + "@loadtest.festivo.lk" : "Not Accepted",
+                accepted ? String.valueOf(10_000 + random.nextInt(490_000)) : "undefined");
+    }
+
+    private SupplierPaymentEntity supplierPayment(SupplierReq order) {
+        return new SupplierPaymentEntity(null, "supplier" + random.nextInt(suppliers) + "@loadtest.festivo.lk",
+                null, order.getId(), BigDecimal.valueOf(10_000 + random.nextInt(490_000)),
+                pick("CARD", "BANK_TRANSFER"), pick("PENDING", "PAID"), order.getEventDate(), new Date());
+    }
+
+    private Payment payment(int i) {
+        Payment payment = new Payment();
+        payment.setName("Load Test User " + random.nextInt(users));
+        payment.setEmail("user" + random.nextInt(users) + "@loadtest.festivo.lk");
+        payment.setPhoneNumber(771_234_567L + i);
+        payment.setAddress(i + " Galle Road, Colombo");
+        payment.setCardNumber(4_111_111_111_111_111L);
+        payment.setCardType(pick("VISA", "MASTERCARD", "AMEX"));
+        payment.setExpDate("12/29");
+        payment.setCvv(123);
+        payment.setOrderSummery("Gold package, 200 guests");
+        payment.setAmount(50_000 + random.nextInt(450_000));
+        return payment;
+    }
+
+    private Feedback feedback(int i) {
+        Feedback item = new Feedback();
+        item.setRate(1 + random.nextInt(5));
+        item.setReview("Everything was on time and the decoration was beautiful");
+        return item;
+    }
+
+    private String pick(String... values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -17,7 +17,8 @@ public class CorsConfig {
             @Override
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**")
-                        .allowedMethods("GET","POST","PUT","DELETE")
+                        .allowedMethods("GET","POST","PUT","PATCH","DELETE")
+                        .exposedHeaders("ETag")
                         .allowedOrigins("http://localhost:5176")
                         .allowedHeaders("*")
                         .allowCredentials(true);
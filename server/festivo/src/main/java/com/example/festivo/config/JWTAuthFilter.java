@@ -2,6 +2,8 @@ package com.example.festivo.config;
 
 import com.example.festivo.service.userservice.JWTUtils;
 import com.example.festivo.service.userservice.OurUserDetailsService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,15 +28,34 @@ public class JWTAuthFilter extends OncePerRequestFilter {
     @Autowired
     private OurUserDetailsService ourUserDetailsService;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        // Recorded as both the festivo.jwt.filter timer and a trace span
+        Observation observation = Observation.start("festivo.jwt.filter", observationRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
+            observation.lowCardinalityKeyValue("outcome", authenticate(request));
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue("outcome", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+
+        filterChain.doFilter(request,response);
+    }
+
+    // Times only the token work, not the rest of the chain
+    private String authenticate(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
         final String jwtToken;
         final String userEmail;
 
         if (authHeader ==null || authHeader.isBlank()){
-            filterChain.doFilter(request,response);
-            return;
+            return "anonymous";
         }
 
 
@@ -53,10 +74,12 @@ public class JWTAuthFilter extends OncePerRequestFilter {
                 token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 securityContext.setAuthentication(token);
                 SecurityContextHolder.setContext(securityContext);
+                return "authenticated";
             }
+            return "invalid";
         }
 
-        filterChain.doFilter(request,response);
+        return "skipped";
     }
 }
 
@@ -0,0 +1,55 @@
+package com.example.festivo.config;
+
+import com.example.festivo.service.rateLimitService.MongoLatencyTracker;
+import com.example.festivo.service.slowQueryService.SlowQueryListener;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Auditing fills @LastModifiedDate on the catalog entities
+@Configuration
+@EnableMongoAuditing
+public class MongoConfig {
+
+    // Bounded driver waits, so a brownout surfaces as errors the circuit breaker can count
+    @Bean
+    public MongoClientSettingsBuilderCustomizer timeoutCustomizer(
+            @Value("${festivo.mongo.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${festivo.mongo.read-timeout:5s}") Duration readTimeout,
+            @Value("${festivo.mongo.server-selection-timeout:3s}") Duration serverSelectionTimeout) {
+        return settings -> settings
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout((int) connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) readTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    // Applied to both the blocking and the reactive MongoClient
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryListenerCustomizer(SlowQueryListener slowQueryListener) {
+        return settings -> settings.addCommandListener(slowQueryListener);
+    }
+
+    // Feeds the latency average that drives load shedding
+    @Bean
+    public MongoClientSettingsBuilderCustomizer latencyTrackerCustomizer(MongoLatencyTracker mongoLatencyTracker) {
+        return settings -> settings.addCommandListener(mongoLatencyTracker);
+    }
+
+    // One span per Mongo command, parented to the observation current on the calling thread or Reactor context
+    @Bean
+    public MongoClientSettingsBuilderCustomizer observationCustomizer(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.festivo.config;
+
+import com.example.festivo.service.rateLimitService.LoadShedder;
+import com.example.festivo.service.rateLimitService.RateLimiter;
+import com.example.festivo.service.userservice.JWTUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards the open /public and /supplier routes. Each client (JWT subject when
+ * signed in, otherwise remote address) spends tokens per request, with full
+ * collection scans costing more than lookups; over budget gets 429. Requests
+ * that would exceed the latency-driven concurrency limit get 503. A request
+ * that goes async, like the /stream routes, holds its slot until the async
+ * request completes.
+ *
+ * Registered ahead of the Spring Security chain (see SecurityConfig), so
+ * the caller is read from the bearer token here rather than from the
+ * security context, which is not populated yet.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // GET routes that read a whole collection
+    private static final Set<String> FULL_SCAN_ROUTES = Set.of(
+            "/public/getAllPayment",
+            "/public/getAllEvent",
+            "/public/getAllFeedback",
+            "/public/event-theme",
+            "/public/supplierOrder/get-all",
+            "/public/supplierOrder/get-accepted",
+            "/public/supplier/supplier-payment",
+            "/supplier/get-products"
+    );
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JWTUtils jwtUtils;
+
+    @Value("${festivo.rate-limit.scan-cost:10}")
+    private double scanCost;
+
+    @Value("${festivo.rate-limit.write-cost:2}")
+    private double writeCost;
+
+    @Value("${festivo.load-shed.retry-after-seconds:1}")
+    private long shedRetryAfterSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/public/") && !path.startsWith("/supplier/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request), cost(request));
+        if (waitNanos > 0) {
+            reject(response, 429, "rate_limited", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+            return;
+        }
+        if (!loadShedder.tryEnter()) {
+            reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "shed", shedRetryAfterSeconds);
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new SlotRelease());
+            }
+        } finally {
+            if (!async) {
+                loadShedder.exit();
+            }
+        }
+    }
+
+    // onComplete also follows a timeout or an error, so the slot is given back exactly once
+    private final class SlotRelease implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            loadShedder.exit();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A new cycle drops the listeners registered for the last one
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private double cost(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return writeCost;
+        }
+        String path = request.getRequestURI();
+        return FULL_SCAN_ROUTES.contains(path) || path.contains("/stream/") ? scanCost : 1;
+    }
+
+    // Only a token with a valid signature names a user; anything else is keyed by address
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                String subject = jwtUtils.extractUserName(authHeader.substring(7));
+                if (subject != null) {
+                    return "user:" + subject;
+                }
+            } catch (RuntimeException e) {
+                // Expired or forged; the security chain rejects it later
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, int status, String reason, long retryAfterSeconds) throws IOException {
+        meterRegistry.counter("festivo.rate_limit.rejected", "reason", reason).increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setStatus(status);
+    }
+}
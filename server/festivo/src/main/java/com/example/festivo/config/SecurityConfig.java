@@ -1,6 +1,8 @@
 package com.example.festivo.config;
 import com.example.festivo.service.userservice.OurUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -32,6 +34,9 @@ public class SecurityConfig {
         httpSecurity.csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .authorizeHttpRequests(request ->request.requestMatchers("/auth/**","/public/**","/supplier/**").permitAll()
+                        .requestMatchers("/actuator/health","/actuator/health/**").permitAll()
+                        // Metrics name routes, collections and load; scrape with an admin token
+                        .requestMatchers("/actuator/prometheus","/actuator/metrics","/actuator/metrics/**").hasAnyAuthority("ADMIN")
                         .requestMatchers("/admin/**").hasAnyAuthority("ADMIN")
                         .requestMatchers("/user/**").hasAnyAuthority("USER")
                         .requestMatchers("/supplier/**").hasAnyAuthority("SUPPLIER")
@@ -46,6 +51,14 @@ public class SecurityConfig {
 
     }
 
+    // Ahead of the security chain, so a rejected request costs no token parsing or user lookup
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider(){
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
@@ -0,0 +1,44 @@
+package com.example.festivo.config;
+
+import java.lang.reflect.Method;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Keeps lazy initialization (the fast-start profile) from silently
+ * disabling background work: beans with scheduled jobs, event listeners,
+ * runners or a lifecycle are still created during startup, everything else
+ * on first use.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHints.class)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter backgroundWorkExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> {
+            if (ApplicationListener.class.isAssignableFrom(beanType)
+                    || CommandLineRunner.class.isAssignableFrom(beanType)
+                    || SmartLifecycle.class.isAssignableFrom(beanType)) {
+                return true;
+            }
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+                if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                        || AnnotatedElementUtils.hasAnnotation(method, EventListener.class)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+}
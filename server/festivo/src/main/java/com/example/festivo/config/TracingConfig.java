@@ -0,0 +1,25 @@
+package com.example.festivo.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+@Configuration
+public class TracingConfig {
+
+    // Carries the current trace (and MDC) into @Async and CompletableFuture work on the task executor
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    // Writes spans as OTLP JSON lines; logback-spring.xml routes this logger to festivo.tracing.file.path
+    @Bean
+    @ConditionalOnProperty(name = "festivo.tracing.file.enabled", havingValue = "true")
+    public SpanExporter otlpJsonFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.festivo.controller.availabilityController;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.festivo.dto.availabilityDTO.AvailabilityDTO;
+import com.example.festivo.service.availabilityService.AvailabilityService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/public/availability")
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    // e.g. /public/availability?from=2026-03-14&to=2026-03-15&category=Catering
+    @GetMapping
+    public ResponseEntity<AvailabilityDTO> getAvailability(
+            @RequestParam String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String eventName,
+            @RequestParam(required = false) String category) {
+        return ResponseEntity.ok(availabilityService.availability(from, to, eventName, category));
+    }
+}
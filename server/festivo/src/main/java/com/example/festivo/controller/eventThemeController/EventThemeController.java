@@ -1,5 +1,6 @@
 package com.example.festivo.controller.eventThemeController;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
@@ -11,12 +12,16 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.festivo.dto.EventThemeDTO.EventThemeRequestDTO;
 import com.example.festivo.dto.EventThemeDTO.EventThemeResponseDTO;
-import com.example.festivo.entity.eventEntity.EventTheme;
 import com.example.festivo.service.eventThemeService.EventThemeService;
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 public class EventThemeController {
 
     private final EventThemeService eventThemeService;
+    private final ResponseByteCache responseByteCache;
 
     @PostMapping
     public ResponseEntity<EventThemeResponseDTO> createEventTheme(
@@ -39,14 +45,24 @@ public class EventThemeController {
     }
 
     @GetMapping
-    public List<EventTheme> getAllThemes() {
-        return eventThemeService.getAllEventThemes();
+    public void getAllThemes(@RequestParam(defaultValue = "full") String view,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if ("summary".equals(view)) {
+            responseByteCache.write(ResponseByteCache.EVENT_THEMES_SUMMARY,
+                    eventThemeService::getAllEventThemeSummaries, request, response);
+        } else {
+            responseByteCache.write(ResponseByteCache.EVENT_THEMES,
+                    eventThemeService::writeAllEventThemes, request, response);
+        }
     }
 
     @GetMapping("/{event}")
-    public List<EventTheme> getAllEventThemes(
-            @PathVariable String event) {
-        return eventThemeService.getThemeByEvent(event);
+    public List<?> getAllEventThemes(
+            @PathVariable String event,
+            @RequestParam(defaultValue = "full") String view) {
+        return "summary".equals(view)
+                ? eventThemeService.getThemeSummariesByEvent(event)
+                : eventThemeService.getThemeByEvent(event);
     }
 
     @PutMapping("/{id}")
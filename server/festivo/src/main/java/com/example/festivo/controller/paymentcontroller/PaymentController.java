@@ -3,10 +3,18 @@ package com.example.festivo.controller.paymentcontroller;
 
 import com.example.festivo.entity.paymententity.Payment;
 import com.example.festivo.repository.paymentrepository.PaymentRepo;
+import com.example.festivo.service.archiveService.ArchiveService;
+import com.example.festivo.service.paymentService.PaymentCaptureService;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
+import com.example.festivo.service.rollupService.RollupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 public class PaymentController {
@@ -14,48 +22,65 @@ public class PaymentController {
     @Autowired
     private PaymentRepo paymentRepo;
 
+    @Autowired
+    private PaymentCaptureService paymentCaptureService;
+
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    private static final Set<String> WRITABLE = Set.of("name", "email", "phoneNumber", "address", "cardNumber",
+            "cardType", "expDate", "cvv", "orderSummery", "amount");
+
     @PostMapping("/public/addPayment")
     Payment addPayment(@RequestBody Payment addPayment){
-        return paymentRepo.save(addPayment);
+        return paymentCaptureService.capture(addPayment);
     }
 
     @GetMapping("/public/getAllPayment")
-    List<Payment> getAllPayment(){
-        return paymentRepo.findAll();
+    List<Payment> getAllPayment(@RequestParam(defaultValue = "false") boolean history){
+        if (!history) {
+            return paymentRepo.findAll();
+        }
+        return archiveService.find(new Query(), Payment.class, true);
     }
 
     @GetMapping("/public/paymentById/{id}")
     Payment getPaymentById(@PathVariable String id){
         return paymentRepo.findById(id)
+                .or(() -> paymentCaptureService.findPending(id))
+                // A receipt link keeps working after the payment is archived; only misses pay for this lookup
+                .or(() -> archiveService.findArchived(id, Payment.class))
                 .orElseThrow(() -> new RuntimeException("payment not found with ID: " + id));
     }
 
     @PutMapping("/public/updatePayment/{id}")
     Payment updatePayment(@RequestBody Payment updatePayment,@PathVariable String id){
-        return paymentRepo.findById(id)
-                .map(payment -> {
-                    payment.setName(updatePayment.getName());
-                    payment.setEmail(updatePayment.getEmail());
-                    payment.setPhoneNumber(updatePayment.getPhoneNumber());
-                    payment.setAddress(updatePayment.getAddress());
-                    payment.setCardNumber(updatePayment.getCardNumber());
-                    payment.setCardType(updatePayment.getCardType());
-                    payment.setExpDate(updatePayment.getExpDate());
-                    payment.setCvv(updatePayment.getCvv());
-                    payment.setOrderSummery(updatePayment.getOrderSummery());
-                    payment.setAmount(updatePayment.getAmount());
-
-                    return paymentRepo.save(payment);
-                }).orElseThrow(()->new RuntimeException("Payment not found with ID: " + id));
+        return partialUpdateService.patch(Payment.class, id, partialUpdateService.fields(updatePayment, WRITABLE),
+                WRITABLE, null).after();
+    }
+
+    @PatchMapping("/public/updatePayment/{id}")
+    ResponseEntity<Payment> patchPayment(@RequestBody Map<String, Object> changes, @PathVariable String id,
+                                         @RequestHeader(value = "If-Match", required = false) String ifMatch){
+        PartialUpdateService.Patched<Payment> patched = partialUpdateService.patch(Payment.class, id, changes,
+                WRITABLE, PartialUpdateService.version(ifMatch));
+        return ResponseEntity.ok().eTag(PartialUpdateService.etag(patched.version())).body(patched.after());
     }
 
     @DeleteMapping("/public/deletePayment/{id}")
     String deletePayment(@PathVariable String id){
-        if (!paymentRepo.existsById(id)){
-            throw new RuntimeException("Payment not found with ID: "+id);
-        }
+        Payment payment = paymentRepo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Payment not found with ID: "+id));
 
         paymentRepo.deleteById(id);
+        rollupService.retract(RollupService.PAYMENT_CARD_TYPE, payment.getCardType(),
+                payment.getAmount() == null ? 0 : payment.getAmount(), RollupService.createdAt(id));
 
         return "Payment id:"+id+" has been deleted Success";
     }
@@ -0,0 +1,38 @@
+package com.example.festivo.controller.rollupController;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.festivo.entity.rollupEntity.RollupBucket;
+import com.example.festivo.service.rollupService.RollupService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/rollups")
+@RequiredArgsConstructor
+public class RollupController {
+
+    private final RollupService rollupService;
+
+    // e.g. /admin/rollups?granularity=DAY&metric=supplierPayment.paymentStatus
+    @GetMapping
+    public ResponseEntity<List<RollupBucket>> getRollups(
+            @RequestParam(defaultValue = RollupService.DAY) String granularity,
+            @RequestParam String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to) {
+        Date end = to != null ? to : new Date();
+        Date start = from != null ? from : Date.from(Instant.now().minus(30, ChronoUnit.DAYS));
+        return ResponseEntity.ok(rollupService.getBuckets(granularity.toUpperCase(), metric, start, end));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.festivo.controller.slowQueryController;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.festivo.dto.slowQueryDTO.SlowQueryEntry;
+import com.example.festivo.service.slowQueryService.SlowQueryLog;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/slow-queries")
+@RequiredArgsConstructor
+public class SlowQueryController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @GetMapping
+    public ResponseEntity<List<SlowQueryEntry>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryLog.getEntries());
+    }
+}
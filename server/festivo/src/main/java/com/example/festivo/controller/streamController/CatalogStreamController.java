@@ -0,0 +1,86 @@
+package com.example.festivo.controller.streamController;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.repository.reactiveRepository.ReactiveEventThemeRepo;
+import com.example.festivo.repository.reactiveRepository.ReactiveSupplierOrderReqRepo;
+import com.example.festivo.repository.reactiveRepository.ReactiveSupplierPaymentRepo;
+import com.example.festivo.repository.reactiveRepository.ReactiveSupplierProductRepo;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking variants of the busiest list endpoints. Results come from the
+ * reactive Mongo driver and are streamed as NDJSON (or collected into a JSON
+ * array for Accept: application/json). The servlet thread is released while
+ * Mongo is queried, and the driver only fetches as fast as the client reads.
+ */
+@RestController
+@RequiredArgsConstructor
+public class CatalogStreamController {
+
+    // Upper bound on documents requested from the cursor ahead of the client
+    private static final int PREFETCH = 256;
+
+    private final ReactiveEventThemeRepo eventThemeRepo;
+    private final ReactiveSupplierProductRepo supplierProductRepo;
+    private final ReactiveSupplierOrderReqRepo supplierOrderReqRepo;
+    private final ReactiveSupplierPaymentRepo supplierPaymentRepo;
+
+    @GetMapping(value = "/public/stream/event-theme", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EventTheme> streamEventThemes() {
+        return eventThemeRepo.findAll().limitRate(PREFETCH);
+    }
+
+    @GetMapping(value = "/public/stream/event-theme/{event}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EventTheme> streamEventThemesByEvent(@PathVariable String event) {
+        return eventThemeRepo.findByEventName(event).limitRate(PREFETCH);
+    }
+
+    @GetMapping(value = "/supplier/stream/products", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<SupplierProductEntity> streamSupplierProducts() {
+        return supplierProductRepo.findAll().limitRate(PREFETCH);
+    }
+
+    @GetMapping(value = "/supplier/stream/products/{email}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<SupplierProductEntity> streamSupplierProductsByEmail(@PathVariable String email) {
+        return supplierProductRepo.findBySupplierEmail(email).limitRate(PREFETCH);
+    }
+
+    @GetMapping(value = "/public/stream/supplier-orders", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<SupplierReq> streamSupplierOrders(@RequestParam(required = false) String category) {
+        Flux<SupplierReq> orders = category == null
+                ? supplierOrderReqRepo.findAll()
+                : supplierOrderReqRepo.findBySupplierCategoryIgnoreCase(category);
+        return orders.limitRate(PREFETCH);
+    }
+
+    @GetMapping(value = "/public/stream/supplier-orders/accepted", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<SupplierReq> streamAcceptedSupplierOrders() {
+        return supplierOrderReqRepo.findByStatus("ACCEPTED").limitRate(PREFETCH);
+    }
+
+    @GetMapping(value = "/public/stream/supplier-payments", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<SupplierPaymentEntity> streamSupplierPayments(
+            @RequestParam(required = false) String supplierEmail,
+            @RequestParam(required = false) String status) {
+        Flux<SupplierPaymentEntity> payments;
+        if (supplierEmail != null) {
+            payments = supplierPaymentRepo.findBySupplierEmail(supplierEmail);
+        } else if (status != null) {
+            payments = supplierPaymentRepo.findByPaymentStatus(status);
+        } else {
+            payments = supplierPaymentRepo.findAll();
+        }
+        return payments.limitRate(PREFETCH);
+    }
+}
@@ -11,7 +11,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.example.festivo.dto.SupplierOrderRequestdto.SupplierReqDTO;
 import com.example.festivo.dto.SupplierOrderRequestdto.SupplierResDTO;
@@ -41,13 +43,13 @@ public class SupplierOrderReqController {
     }
 
     @GetMapping("/get-all")
-    public List<SupplierReq> getAllSupplierOrders() {
-        return supplierOrderRequestService.getAllSupplierOrder();
+    public List<SupplierReq> getAllSupplierOrders(@RequestParam(defaultValue = "false") boolean history) {
+        return supplierOrderRequestService.getAllSupplierOrder(history);
     }
 
     @GetMapping("/get-accepted")
-    public List<SupplierReq> getAcceptedSupplierOrders() {
-        return supplierOrderRequestService.getAcceptedSupplierOrder();
+    public List<SupplierReq> getAcceptedSupplierOrders(@RequestParam(defaultValue = "false") boolean history) {
+        return supplierOrderRequestService.getAcceptedSupplierOrder(history);
     }
 
     @GetMapping("/by-category/{category}")
@@ -97,6 +99,8 @@ public class SupplierOrderReqController {
         try {
             SupplierReq updatedOrder = supplierOrderRequestService.updateOrderStatus(id, req);
             return ResponseEntity.ok(updatedOrder);
+        } catch (ResponseStatusException ex) {
+            throw ex;
         } catch (RuntimeException ex) {
             return ResponseEntity.notFound().build();
         }
@@ -1,6 +1,6 @@
 package com.example.festivo.controller.supplierPaymentController;
 
-import java.util.List;
+import java.io.IOException;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -10,12 +10,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.festivo.dto.supplierPaymentDTO.SupplierPaymentRequestDTO;
 import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
 import com.example.festivo.service.supplierPaymentService.SupplierPaymentService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -27,30 +30,34 @@ public class SupplierPaymentController {
     private final SupplierPaymentService supplierPaymentService;
 
     @GetMapping
-    public ResponseEntity<List<SupplierPaymentEntity>> getAllSupplierPayments() {
-        List<SupplierPaymentEntity> payments = supplierPaymentService.getAllSupplierPayment();
-        return ResponseEntity.ok(payments);
+    public void getAllSupplierPayments(
+            @RequestParam(defaultValue = "false") boolean history,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        supplierPaymentService.writeAllSupplierPayments(history, request, response);
     }
 
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<SupplierPaymentEntity>> getSupplierPaymentsByProductId(
-            @PathVariable String productId) {
-        List<SupplierPaymentEntity> payments = supplierPaymentService.getSupplierPaymentByProductId(productId);
-        return ResponseEntity.ok(payments);
+    public void getSupplierPaymentsByProductId(
+            @PathVariable String productId,
+            @RequestParam(defaultValue = "false") boolean history,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        supplierPaymentService.writeSupplierPaymentsByProductId(productId, history, request, response);
     }
 
     @GetMapping("/order/{orderId}")
-    public ResponseEntity<List<SupplierPaymentEntity>> getSupplierPaymentsByOrderId(
-            @PathVariable String orderId) {
-        List<SupplierPaymentEntity> payments = supplierPaymentService.getSupplierPaymentBySupplierEmail(orderId);
-        return ResponseEntity.ok(payments);
+    public void getSupplierPaymentsByOrderId(
+            @PathVariable String orderId,
+            @RequestParam(defaultValue = "false") boolean history,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        supplierPaymentService.writeSupplierPaymentsByOrderId(orderId, history, request, response);
     }
 
     @GetMapping("/supplier/{supplierEmail}")
-    public ResponseEntity<List<SupplierPaymentEntity>> getSupplierPaymentsBySupplierEmail(
-            @PathVariable String supplierEmail) {
-        List<SupplierPaymentEntity> payments = supplierPaymentService.getSupplierPaymentBySupplierEmail(supplierEmail);
-        return ResponseEntity.ok(payments);
+    public void getSupplierPaymentsBySupplierEmail(
+            @PathVariable String supplierEmail,
+            @RequestParam(defaultValue = "false") boolean history,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        supplierPaymentService.writeSupplierPaymentsBySupplierEmail(supplierEmail, history, request, response);
     }
 
     @PostMapping("/create")
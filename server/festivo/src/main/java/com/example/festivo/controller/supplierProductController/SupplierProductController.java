@@ -5,9 +5,16 @@ import org.springframework.web.bind.annotation.*;
 
 import com.example.festivo.dto.supplierProductsDto.SupplierProductRequestDTO;
 import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
 import com.example.festivo.service.supplierProductService.SupplierProductService;
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/supplier")
@@ -16,6 +23,7 @@ import java.util.List;
 public class SupplierProductController {
 
     private final SupplierProductService supplierProductService;
+    private final ResponseByteCache responseByteCache;
 
     @PostMapping("/create-product")
     public ResponseEntity<SupplierProductEntity> addSupplierProduct(@RequestBody SupplierProductRequestDTO productDTO) {
@@ -24,14 +32,23 @@ public class SupplierProductController {
     }
 
     @GetMapping("/get-products")
-    public ResponseEntity<List<SupplierProductEntity>> getAllSupplierProducts() {
-        List<SupplierProductEntity> products = supplierProductService.getAllSupplierProducts();
-        return ResponseEntity.ok(products);
+    public void getAllSupplierProducts(@RequestParam(defaultValue = "full") String view,
+                                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if ("summary".equals(view)) {
+            responseByteCache.write(ResponseByteCache.SUPPLIER_PRODUCTS_SUMMARY,
+                    supplierProductService::getAllSupplierProductSummaries, request, response);
+        } else {
+            responseByteCache.write(ResponseByteCache.SUPPLIER_PRODUCTS, supplierProductService::getAllSupplierProducts,
+                    request, response);
+        }
     }
 
     @GetMapping("/products/{email}")
-    public ResponseEntity<List<SupplierProductEntity>> getSupplierProducts(@PathVariable String email) {
-        List<SupplierProductEntity> products = supplierProductService.getSupplierProducts(email);
+    public ResponseEntity<List<?>> getSupplierProducts(@PathVariable String email,
+                                                       @RequestParam(defaultValue = "full") String view) {
+        List<?> products = "summary".equals(view)
+                ? supplierProductService.getSupplierProductSummaries(email)
+                : supplierProductService.getSupplierProducts(email);
         return ResponseEntity.ok(products);
     }
 
@@ -44,6 +61,16 @@ public class SupplierProductController {
         return ResponseEntity.ok(updatedProduct);
     }
 
+    @PatchMapping("/update-product/{id}")
+    public ResponseEntity<SupplierProductEntity> patchSupplierProduct(
+            @PathVariable String id,
+            @RequestBody Map<String, Object> changes,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        PartialUpdateService.Patched<SupplierProductEntity> patched = supplierProductService.patchSupplierProduct(
+                id, changes, PartialUpdateService.version(ifMatch));
+        return ResponseEntity.ok().eTag(PartialUpdateService.etag(patched.version())).body(patched.after());
+    }
+
     @DeleteMapping("/delete-product/{id}")
     public ResponseEntity<String> deleteSupplierProduct(@PathVariable String id) {
         supplierProductService.deleteSupplierProduct(id);
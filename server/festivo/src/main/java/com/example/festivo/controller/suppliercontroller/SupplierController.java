@@ -1,17 +1,22 @@
 package com.example.festivo.controller.suppliercontroller;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.festivo.dto.supplierDTO.SupplierRequestDTO;
 import com.example.festivo.entity.suplierEntity.SupplierEntity;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
 import com.example.festivo.service.supplierService.SupplierService;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Map;
+
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -51,6 +56,16 @@ public class SupplierController {
         return ResponseEntity.ok(updatedSupplierEntity);
     }
 
+    @PatchMapping("/update-supplier/{email}")
+    public ResponseEntity<SupplierEntity> patchSupplier(
+            @PathVariable String email,
+            @RequestBody Map<String, Object> changes,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        PartialUpdateService.Patched<SupplierEntity> patched = supplierService.patchSupplierEntity(
+                email, changes, PartialUpdateService.version(ifMatch));
+        return ResponseEntity.ok().eTag(PartialUpdateService.etag(patched.version())).body(patched.after());
+    }
+
     @DeleteMapping("/delete-supplier/{email}")
     public ResponseEntity<String> deleteSupplier(@PathVariable String email) {
         supplierService.deleteSupplierEntity(email);
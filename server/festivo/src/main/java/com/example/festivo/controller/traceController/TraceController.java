@@ -0,0 +1,34 @@
+package com.example.festivo.controller.traceController;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.festivo.dto.traceDTO.SpanSummary;
+import com.example.festivo.dto.traceDTO.TraceSummary;
+import com.example.festivo.service.tracingService.InMemorySpanCollector;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/traces")
+@RequiredArgsConstructor
+public class TraceController {
+
+    private final InMemorySpanCollector spanCollector;
+
+    @GetMapping
+    public ResponseEntity<List<TraceSummary>> getRecentTraces() {
+        return ResponseEntity.ok(spanCollector.getRecentTraces());
+    }
+
+    @GetMapping("/{traceId}")
+    public ResponseEntity<List<SpanSummary>> getTrace(@PathVariable String traceId) {
+        List<SpanSummary> spans = spanCollector.getTrace(traceId);
+        return spans.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(spans);
+    }
+}
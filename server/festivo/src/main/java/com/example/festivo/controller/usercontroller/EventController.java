@@ -1,12 +1,21 @@
 package com.example.festivo.controller.usercontroller;
 
 
+import com.example.festivo.dto.eventDetailDTO.EventDetailDTO;
 import com.example.festivo.entity.userentity.Event;
 import com.example.festivo.repository.userrepository.EventRepo;
+import com.example.festivo.service.availabilityService.AvailabilityService;
+import com.example.festivo.service.eventDetailService.EventDetailService;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
+import com.example.festivo.service.rollupService.RollupService;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @CrossOrigin
 @RestController
@@ -15,9 +24,31 @@ public class EventController {
     @Autowired
     private EventRepo eventRepo;
 
+    @Autowired
+    private EventDetailService eventDetailService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    private static final Set<String> WRITABLE = Set.of("eventName", "eventTheme", "eventDate", "eventType",
+            "noOfGuest", "specialRequest", "eventPackage", "eventStart", "eventEnd");
+
     @PostMapping("/public/addEvent")
     Event addEvent(@RequestBody Event addEvent){
-        return eventRepo.save(addEvent);
+        availabilityService.fillWindow(addEvent);
+        if (addEvent.getId() == null) {
+            // The booking is reserved under the id before the insert
+            addEvent.setId(new ObjectId().toHexString());
+        }
+        Event saved = availabilityService.bookEvent(addEvent, () -> eventRepo.save(addEvent));
+        rollupService.record(RollupService.EVENT_TYPE, saved.getEventType(), 0);
+        return saved;
     }
 
     @GetMapping("/public/getAllEvent")
@@ -31,28 +62,36 @@ public class EventController {
                 .orElseThrow(() -> new RuntimeException("Event not found with ID: " + id));
     }
 
+    @GetMapping("/public/eventDetail/{id}")
+    EventDetailDTO getEventDetail(@PathVariable String id,
+                                  @RequestParam(defaultValue = "false") boolean history){
+        return eventDetailService.getEventDetail(id, history);
+    }
+
     @PutMapping("/public/updateEvent/{id}")
     Event updateEvent(@RequestBody Event updateEvent,@PathVariable String id){
-        return eventRepo.findById(id)
-                .map(event -> {
-                    event.setEventName(updateEvent.getEventName());
-                    event.setEventTheme(updateEvent.getEventTheme());
-                    event.setEventDate(updateEvent.getEventDate());
-                    event.setEventType(updateEvent.getEventType());
-                    event.setNoOfGuest(updateEvent.getNoOfGuest());
-                    event.setSpecialRequest(updateEvent.getSpecialRequest());
-                    event.setEventPackage(updateEvent.getEventPackage());
-                    return eventRepo.save(event);
-                }).orElseThrow(()->new RuntimeException("Event not found with ID: " + id));
+        Map<String, Object> changes = partialUpdateService.fields(updateEvent, WRITABLE);
+        return availabilityService.bookEventUpdate(id, changes,
+                () -> partialUpdateService.patch(Event.class, id, changes, WRITABLE, null)).after();
+    }
+
+    @PatchMapping("/public/updateEvent/{id}")
+    ResponseEntity<Event> patchEvent(@RequestBody Map<String, Object> changes, @PathVariable String id,
+                                     @RequestHeader(value = "If-Match", required = false) String ifMatch){
+        Long version = PartialUpdateService.version(ifMatch);
+        PartialUpdateService.Patched<Event> patched = availabilityService.bookEventUpdate(id, changes,
+                () -> partialUpdateService.patch(Event.class, id, changes, WRITABLE, version));
+        return ResponseEntity.ok().eTag(PartialUpdateService.etag(patched.version())).body(patched.after());
     }
 
     @DeleteMapping("/public/deleteEvent/{id}")
     String deleteEvent(@PathVariable String id){
-        if (!eventRepo.existsById(id)){
-            throw new RuntimeException("Event not found with ID: "+id);
-        }
+        Event event = eventRepo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Event not found with ID: "+id));
 
         eventRepo.deleteById(id);
+        availabilityService.releaseEvent(id);
+        rollupService.retract(RollupService.EVENT_TYPE, event.getEventType(), 0, RollupService.createdAt(id));
 
         return "Event id:"+id+" has been deleted Success";
     }
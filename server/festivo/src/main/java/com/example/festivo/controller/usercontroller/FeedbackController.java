@@ -3,10 +3,15 @@ package com.example.festivo.controller.usercontroller;
 
 import com.example.festivo.entity.userentity.Feedback;
 import com.example.festivo.repository.userrepository.FeedbackRepo;
+import com.example.festivo.service.coalescingService.RequestCoalescer;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 public class FeedbackController {
@@ -14,6 +19,14 @@ public class FeedbackController {
     @Autowired
     private FeedbackRepo feedbackRepo;
 
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+
+    private static final Set<String> WRITABLE = Set.of("rate", "review");
+
     @PostMapping("/public/addFeedback")
     Feedback addFeedback(@RequestBody Feedback addFeedback){
         return feedbackRepo.save(addFeedback);
@@ -21,7 +34,7 @@ public class FeedbackController {
 
     @GetMapping("/public/getAllFeedback")
     List<Feedback> getAllFeedback(){
-        return feedbackRepo.findAll();
+        return requestCoalescer.execute("FeedbackRepo.findAll", feedbackRepo::findAll);
     }
 
     @GetMapping("/public/feedById/{id}")
@@ -32,12 +45,16 @@ public class FeedbackController {
 
     @PutMapping("/public/updateFeedback/{id}")
     Feedback updateFeedback(@RequestBody Feedback updateFeedback,@PathVariable String id){
-        return feedbackRepo.findById(id)
-                .map(feedback -> {
-                    feedback.setRate(updateFeedback.getRate());
-                    feedback.setReview(updateFeedback.getReview());
-                    return feedbackRepo.save(feedback);
-                }).orElseThrow(()->new RuntimeException("Feedback not found with ID: " + id));
+        return partialUpdateService.patch(Feedback.class, id, partialUpdateService.fields(updateFeedback, WRITABLE),
+                WRITABLE, null).after();
+    }
+
+    @PatchMapping("/public/updateFeedback/{id}")
+    ResponseEntity<Feedback> patchFeedback(@RequestBody Map<String, Object> changes, @PathVariable String id,
+                                           @RequestHeader(value = "If-Match", required = false) String ifMatch){
+        PartialUpdateService.Patched<Feedback> patched = partialUpdateService.patch(Feedback.class, id, changes,
+                WRITABLE, PartialUpdateService.version(ifMatch));
+        return ResponseEntity.ok().eTag(PartialUpdateService.etag(patched.version())).body(patched.after());
     }
 
     @DeleteMapping("/public/deleteFeedback/{id}")
@@ -2,6 +2,7 @@ package com.example.festivo.controller.usercontroller;
 
 import com.example.festivo.dto.userdto.ReqRes;
 import com.example.festivo.entity.userentity.OurUsers;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
 import com.example.festivo.service.userservice.UserManagementService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
 
+import java.util.Date;
+import java.util.Map;
+
 @CrossOrigin
 @RestController
 public class UserController {
@@ -32,8 +36,10 @@ public class UserController {
     }
 
     @GetMapping("/admin/allUser")
-    public ResponseEntity<ReqRes> getAllUsers() {
-        return ResponseEntity.ok(userManagementService.getAllUsers());
+    public ResponseEntity<ReqRes> getAllUsers(@RequestParam(defaultValue = "full") String view) {
+        return ResponseEntity.ok("summary".equals(view)
+                ? userManagementService.getAllUserSummaries()
+                : userManagementService.getAllUsers());
     }
 
     @GetMapping("/admin/getUsers/{userId}")
@@ -46,6 +52,16 @@ public class UserController {
         return ResponseEntity.ok(userManagementService.updateUser(userId, reqres));
     }
 
+    @PatchMapping("/admin/update/{userId}")
+    public ResponseEntity<ReqRes> patchUser(@PathVariable String userId, @RequestBody Map<String, Object> changes,
+                                            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
+        ReqRes response = userManagementService.patchUser(userId, changes, PartialUpdateService.version(ifMatch));
+        Date lastModified = response.getOurUsers() == null ? null : response.getOurUsers().getLastModified();
+        return ResponseEntity.status(response.getStatusCode())
+                .eTag(lastModified == null ? null : PartialUpdateService.etag(lastModified.getTime()))
+                .body(response);
+    }
+
     @GetMapping("/adminuser/get-profile")
     public ResponseEntity<ReqRes> getMyProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
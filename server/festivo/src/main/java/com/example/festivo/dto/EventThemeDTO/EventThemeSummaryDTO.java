@@ -0,0 +1,29 @@
+package com.example.festivo.dto.EventThemeDTO;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Card view of a theme for ?view=summary. Leaves out the image, the long
+ * description and the packages; as a repository return type its properties
+ * also become the Mongo field projection.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class EventThemeSummaryDTO {
+
+    private String id;
+    private String eventName;
+    private String themeName;
+    private String color;
+    private Double price;
+
+    public static EventThemeSummaryDTO from(EventTheme theme) {
+        return new EventThemeSummaryDTO(theme.getId(), theme.getEventName(), theme.getThemeName(),
+                theme.getColor(), theme.getPrice());
+    }
+}
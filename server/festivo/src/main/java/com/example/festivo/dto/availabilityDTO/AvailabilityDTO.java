@@ -0,0 +1,30 @@
+package com.example.festivo.dto.availabilityDTO;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Which themes and suppliers are free for the whole of [from, to), and
+ * which already have a booking overlapping it. Suppliers are listed by email.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class AvailabilityDTO {
+
+    /** A theme is identified by its event type and name; the same name may exist under several types. */
+    public record Theme(String eventName, String themeName) {
+    }
+
+    private Date from;
+    private Date to;
+    private List<Theme> freeThemes;
+    private List<Theme> bookedThemes;
+    private List<String> freeSuppliers;
+    private List<String> bookedSuppliers;
+
+}
@@ -0,0 +1,25 @@
+package com.example.festivo.dto.eventDetailDTO;
+
+import java.util.List;
+
+import com.example.festivo.dto.EventThemeDTO.EventThemeSummaryDTO;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.entity.userentity.Event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class EventDetailDTO {
+
+    private Event event;
+    // The theme's card fields only; the image and packages are not needed here
+    private EventThemeSummaryDTO eventTheme;
+    private List<SupplierReq> supplierOrders;
+    private List<SupplierPaymentEntity> supplierPayments;
+
+}
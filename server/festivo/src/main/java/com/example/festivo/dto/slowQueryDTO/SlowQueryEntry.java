@@ -0,0 +1,29 @@
+package com.example.festivo.dto.slowQueryDTO;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SlowQueryEntry {
+
+    private Date timestamp;
+    private String database;
+    private String collection;
+    private String commandName;
+    private long durationMs;
+    private String shape;
+    private boolean failed;
+
+    // Filled in from explain("executionStats"), once per query shape
+    private String planSummary;
+    private String indexName;
+    private Long docsExamined;
+    private Long keysExamined;
+    private Long docsReturned;
+
+}
@@ -0,0 +1,30 @@
+package com.example.festivo.dto.supplierProductsDto;
+
+import java.math.BigDecimal;
+
+import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product list row without the description.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SupplierProductSummaryDTO {
+
+    private String id;
+    private String supplierEmail;
+    private String productName;
+    private BigDecimal price;
+    private String quantity;
+    private String imageUrl;
+
+    public static SupplierProductSummaryDTO from(SupplierProductEntity product) {
+        return new SupplierProductSummaryDTO(product.getId(), product.getSupplierEmail(), product.getProductName(),
+                product.getPrice(), product.getQuantity(), product.getImageUrl());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.festivo.dto.traceDTO;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SpanSummary {
+
+    private String traceId;
+    private String spanId;
+    private String parentSpanId;
+    private String name;
+    private String kind;
+    private long startEpochMicros;
+    private long durationMicros;
+    private String status;
+    private Map<String, String> attributes;
+
+}
@@ -0,0 +1,18 @@
+package com.example.festivo.dto.traceDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class TraceSummary {
+
+    private String traceId;
+    private String rootName;
+    private int spanCount;
+    private long startEpochMicros;
+    private long durationMicros;
+
+}
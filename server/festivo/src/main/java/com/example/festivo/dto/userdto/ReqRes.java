@@ -26,6 +26,7 @@ public class ReqRes {
     private String password;
     private OurUsers ourUsers;
     private List<OurUsers>ourUsersList;
+    private List<UserSummaryDTO> userSummaryList;
 
     public String getEmail() {
         return email;
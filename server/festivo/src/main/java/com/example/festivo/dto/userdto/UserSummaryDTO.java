@@ -0,0 +1,22 @@
+package com.example.festivo.dto.userdto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User table row: no password hash and none of the UserDetails properties
+ * (authorities, account flags) that the entity serializes.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class UserSummaryDTO {
+
+    private String id;
+    private String email;
+    private String name;
+    private String phoneNumber;
+    private String role;
+    private String gender;
+}
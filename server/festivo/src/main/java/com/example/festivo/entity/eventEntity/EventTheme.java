@@ -1,7 +1,9 @@
 package com.example.festivo.entity.eventEntity;
 
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -26,4 +28,9 @@ public class EventTheme {
     private String img;
     private List<ThemePackage> themePackage;
 
+    // Set on every save; lets the catalog cache pick up changes since its snapshot
+    @LastModifiedDate
+    @Indexed
+    private Date lastModified;
+
 }
@@ -0,0 +1,36 @@
+package com.example.festivo.entity.idempotencyEntity;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Document(collection = "idempotencyKeys")
+public class IdempotencyRecord {
+
+    // Idempotency-Key header scoped by caller, method and path
+    @Id
+    private String id;
+
+    // SHA-256 of the request body; a reused key with another body is refused
+    private String requestHash;
+
+    private int statusCode;
+    private String contentType;
+    // Raw bytes so JSON, CBOR and Smile responses replay unchanged
+    private byte[] responseBody;
+
+    // Expired by a TTL index created in IdempotencyService
+    private Date createdAt;
+
+    // Set while the first request still runs; the insert of this document is the claim on the key
+    private boolean pending;
+
+}
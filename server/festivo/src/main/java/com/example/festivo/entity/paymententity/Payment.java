@@ -1,7 +1,10 @@
 package com.example.festivo.entity.paymententity;
 
+import java.util.Date;
+
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -20,6 +23,8 @@ public class Payment {
     private Integer cvv;
     private String orderSummery;
     private Integer amount;
+    @LastModifiedDate
+    private Date lastModified;
 
     public String getAddress() {
         return address;
@@ -0,0 +1,32 @@
+package com.example.festivo.entity.rollupEntity;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Document(collection = "rollups")
+@CompoundIndex(name = "granularity_metric_bucket", def = "{'granularity': 1, 'metric': 1, 'bucketStart': 1}")
+public class RollupBucket {
+
+    // granularity|metric|dimensionValue|bucketStart
+    @Id
+    private String id;
+
+    private String granularity;     // HOUR, DAY or MONTH
+    private String metric;          // e.g. event.eventType, supplierPayment.paymentStatus
+    private String dimensionValue;
+    private Date bucketStart;
+
+    private long count;
+    private double amount;
+
+}
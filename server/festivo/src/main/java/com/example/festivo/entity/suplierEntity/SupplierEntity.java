@@ -1,6 +1,9 @@
 package com.example.festivo.entity.suplierEntity;
 
 
+import java.util.Date;
+
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -22,5 +25,10 @@ public class SupplierEntity {
     private String companyName;
     private String category;
     private String address;
+
+    // Set on every save; lets the catalog cache pick up changes since its snapshot
+    @LastModifiedDate
+    @Indexed
+    private Date lastModified;
     
 }
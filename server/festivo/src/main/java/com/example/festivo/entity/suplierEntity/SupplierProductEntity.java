@@ -1,8 +1,10 @@
 package com.example.festivo.entity.suplierEntity;
 
 import java.math.BigDecimal;
+import java.util.Date;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -19,7 +21,8 @@ public class SupplierProductEntity {
     @Id
     private String id;
 
-    @Indexed(unique = true)
+    // Not unique: a supplier lists many products
+    @Indexed
     private String supplierEmail;
     private String productName;
     private BigDecimal price;
@@ -27,4 +30,9 @@ public class SupplierProductEntity {
     private String description;
     private String imageUrl;
 
+    // Set on every save; lets the catalog cache pick up changes since its snapshot
+    @LastModifiedDate
+    @Indexed
+    private Date lastModified;
+
 }
@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.util.Date;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.AllArgsConstructor;
@@ -14,6 +15,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Data
 @Document(collection = "supplierPayments")
+@CompoundIndex(name = "paymentStatus_paymentDate", def = "{'paymentStatus': 1, 'paymentDate': 1}")
 public class SupplierPaymentEntity {
 
     @Id
@@ -2,6 +2,7 @@ package com.example.festivo.entity.supplierReqOrderEntity;
 
 import java.util.Date;
 
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -13,6 +14,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Data
 @Document(collection = "supplierOrderRequests")
+@CompoundIndex(name = "status_id", def = "{'status': 1, '_id': 1}")
 public class SupplierReq {
 
     @Indexed
@@ -24,6 +26,8 @@ public class SupplierReq {
     private String eventType;
     private Integer noOfGuest;
     private String specialRequest;
+    // Also picks the orders the archive job moves out
+    @Indexed
     private Date eventDate;
     private String eventId;
     private String supplierCategory;
@@ -1,7 +1,10 @@
 package com.example.festivo.entity.userentity;
 
+import java.util.Date;
+
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -13,10 +16,15 @@ public class Event {
     private String eventName;
     private String eventTheme;
     private String eventDate;
+    // Typed booking window; filled from eventDate when a client only sends that
+    private Date eventStart;
+    private Date eventEnd;
     private String eventType;
     private Integer noOfGuest;
     private String specialRequest;
     private String eventPackage;
+    @LastModifiedDate
+    private Date lastModified;
 
     public String getEventDate() {
         return eventDate;
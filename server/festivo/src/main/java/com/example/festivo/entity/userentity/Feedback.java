@@ -1,7 +1,10 @@
 package com.example.festivo.entity.userentity;
 
+import java.util.Date;
+
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -12,6 +15,8 @@ public class Feedback {
     private String id;
     private Integer rate;
     private String review;
+    @LastModifiedDate
+    private Date lastModified;
 
     public String getId() {
         return id;
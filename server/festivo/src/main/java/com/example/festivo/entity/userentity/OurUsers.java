@@ -1,12 +1,15 @@
 package com.example.festivo.entity.userentity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 @Document(collection = "users")
@@ -14,12 +17,16 @@ public class OurUsers implements UserDetails {
 
     @Id
     private String id;
+    // Unique so two racing registrations cannot both pass the existence check
+    @Indexed(unique = true, sparse = true)
     private String email;
     private String name;
     private String password;
     private String phoneNumber;
     private String role;
     private String gender;
+    @LastModifiedDate
+    private Date lastModified;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -108,5 +115,12 @@ public class OurUsers implements UserDetails {
     public void setGender(String gender) {
         this.gender = gender;
     }
-}
 
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Date lastModified) {
+        this.lastModified = lastModified;
+    }
+}
@@ -4,11 +4,20 @@ import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import com.example.festivo.dto.EventThemeDTO.EventThemeSummaryDTO;
 import com.example.festivo.entity.eventEntity.EventTheme;
 
 public interface EventThemRepository extends MongoRepository<EventTheme, String> {
     List<EventTheme> findByEventName(String eventName);
 
-    EventTheme findByThemeName(String eventName);
+    // DTO return types: only the DTO's fields are read from Mongo
+    List<EventThemeSummaryDTO> findAllProjectedBy();
+
+    List<EventThemeSummaryDTO> findSummaryByEventName(String eventName);
+
+    // Theme names are only unique within an event type, and several documents may share one
+    EventThemeSummaryDTO findFirstByThemeNameAndEventName(String themeName, String eventName);
+
+    EventThemeSummaryDTO findFirstByThemeName(String themeName);
 
 }
@@ -0,0 +1,8 @@
+package com.example.festivo.repository.idempotencyRepository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.example.festivo.entity.idempotencyEntity.IdempotencyRecord;
+
+public interface IdempotencyRepo extends MongoRepository<IdempotencyRecord, String> {
+}
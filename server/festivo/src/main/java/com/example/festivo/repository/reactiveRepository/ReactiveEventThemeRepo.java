@@ -0,0 +1,12 @@
+package com.example.festivo.repository.reactiveRepository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+
+import reactor.core.publisher.Flux;
+
+// Non-blocking mirror of EventThemRepository for the streaming read path
+public interface ReactiveEventThemeRepo extends ReactiveMongoRepository<EventTheme, String> {
+    Flux<EventTheme> findByEventName(String eventName);
+}
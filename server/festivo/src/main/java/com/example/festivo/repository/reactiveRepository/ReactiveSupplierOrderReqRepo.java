@@ -0,0 +1,14 @@
+package com.example.festivo.repository.reactiveRepository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+
+import reactor.core.publisher.Flux;
+
+// Non-blocking mirror of SupplierOrderReqRepo for the streaming read path
+public interface ReactiveSupplierOrderReqRepo extends ReactiveMongoRepository<SupplierReq, String> {
+    Flux<SupplierReq> findBySupplierCategoryIgnoreCase(String supplierCategory);
+
+    Flux<SupplierReq> findByStatus(String status);
+}
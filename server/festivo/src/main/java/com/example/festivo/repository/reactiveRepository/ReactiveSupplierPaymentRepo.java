@@ -0,0 +1,14 @@
+package com.example.festivo.repository.reactiveRepository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+
+import reactor.core.publisher.Flux;
+
+// Non-blocking mirror of SupplierPaymentRepository for the streaming read path
+public interface ReactiveSupplierPaymentRepo extends ReactiveMongoRepository<SupplierPaymentEntity, String> {
+    Flux<SupplierPaymentEntity> findBySupplierEmail(String supplierEmail);
+
+    Flux<SupplierPaymentEntity> findByPaymentStatus(String paymentStatus);
+}
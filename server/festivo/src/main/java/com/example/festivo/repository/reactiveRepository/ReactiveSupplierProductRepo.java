@@ -0,0 +1,12 @@
+package com.example.festivo.repository.reactiveRepository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
+
+import reactor.core.publisher.Flux;
+
+// Non-blocking mirror of SupplierProductRepository for the streaming read path
+public interface ReactiveSupplierProductRepo extends ReactiveMongoRepository<SupplierProductEntity, String> {
+    Flux<SupplierProductEntity> findBySupplierEmail(String email);
+}
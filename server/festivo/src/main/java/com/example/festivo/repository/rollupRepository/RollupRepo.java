@@ -0,0 +1,16 @@
+package com.example.festivo.repository.rollupRepository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.example.festivo.entity.rollupEntity.RollupBucket;
+
+public interface RollupRepo extends MongoRepository<RollupBucket, String> {
+
+    List<RollupBucket> findByGranularityAndMetricAndBucketStartBetweenOrderByBucketStartAsc(
+            String granularity, String metric, Date from, Date to);
+
+    long deleteByGranularityAndBucketStartBefore(String granularity, Date before);
+}
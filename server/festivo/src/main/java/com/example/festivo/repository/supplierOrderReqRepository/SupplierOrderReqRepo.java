@@ -14,6 +14,8 @@ public interface SupplierOrderReqRepo extends MongoRepository<SupplierReq, Strin
     List<SupplierReq> findBySupplierCategoryIgnoreCase(String supplierCategory);
 
     List<SupplierReq> findByStatus(String status);
+
+    List<SupplierReq> findByEventId(String eventId);
     
     // Explicitly declare findById (already inherited from MongoRepository)
     Optional<SupplierReq> findById(String id);
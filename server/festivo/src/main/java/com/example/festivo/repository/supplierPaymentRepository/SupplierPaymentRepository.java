@@ -13,6 +13,9 @@ public interface SupplierPaymentRepository extends MongoRepository<SupplierPayme
     // Find all payments by order request ID
     List<SupplierPaymentEntity> findByOrderRequestId(String orderRequestId);
 
+    // Find all payments for a set of order request IDs in one query
+    List<SupplierPaymentEntity> findByOrderRequestIdIn(List<String> orderRequestIds);
+
     List<SupplierPaymentEntity> findByProductId(String productId);
 
     // Find all payments by payment status
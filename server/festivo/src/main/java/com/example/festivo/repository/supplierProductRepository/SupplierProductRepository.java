@@ -1,6 +1,7 @@
 package com.example.festivo.repository.supplierProductRepository;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import com.example.festivo.dto.supplierProductsDto.SupplierProductSummaryDTO;
 import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
 import java.util.List;
 
@@ -9,6 +10,11 @@ public interface SupplierProductRepository extends MongoRepository<SupplierProdu
     // Find all products by supplier email
     List<SupplierProductEntity> findBySupplierEmail(String email);
 
+    // List views without the description (field projection)
+    List<SupplierProductSummaryDTO> findAllProjectedBy();
+
+    List<SupplierProductSummaryDTO> findSummaryBySupplierEmail(String email);
+
     // Find products by name (case insensitive)
     List<SupplierProductEntity> findByProductNameIgnoreCase(String productName);
 
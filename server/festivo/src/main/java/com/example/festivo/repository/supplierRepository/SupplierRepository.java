@@ -11,6 +11,7 @@ public interface SupplierRepository extends MongoRepository<SupplierEntity, Stri
     Optional<SupplierEntity> findBySupplierEmail(String email);  // finds one supplier
     List<SupplierEntity> findAllBySupplierEmail(String email);   // finds all suppliers with this email
     List<SupplierEntity> findByCategory(String category);
+    boolean existsBySupplierEmail(String email);
 
-    void deleteBySupplierEmail(String email);
+    long deleteBySupplierEmail(String email);
 }
\ No newline at end of file
@@ -1,10 +1,16 @@
 package com.example.festivo.repository.userrepository;
 
+import com.example.festivo.dto.userdto.UserSummaryDTO;
 import com.example.festivo.entity.userentity.OurUsers;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UsersRepo extends MongoRepository<OurUsers, String> {
     Optional<OurUsers> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    List<UserSummaryDTO> findAllProjectedBy();
 }
@@ -0,0 +1,252 @@
+package com.example.festivo.service.archiveService;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.entity.paymententity.Payment;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.service.rollupService.RollupService;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves finished supplier orders, settled supplier payments and old checkout
+ * payments out of their hot collections into "_archive" twins, so the hot
+ * collections and their indexes only hold what is still being worked on.
+ *
+ * A nightly job copies eligible documents in _id order, one batch at a time:
+ * upsert into the archive stamped with archivedAt, then delete from the hot
+ * collection with the eligibility filter repeated. A document that changed
+ * in between no longer matches, stays hot, and its archive copy is dropped.
+ * The upsert makes a rerun after a crash harmless. Each document that left
+ * the hot collection is retracted from its rollup. A TTL index on archivedAt
+ * enforces retention.
+ *
+ * Reads only touch the archive when the caller asks for history.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+
+    public static final String SUFFIX = "_archive";
+    public static final String ARCHIVED_AT = "archivedAt";
+
+    // Order statuses after which nothing more happens to an order; paid and completed ones still book their supplier
+    private static final List<String> BOOKED_FINISHED_ORDER_STATUSES = List.of("PAID", "COMPLETED");
+    private static final List<String> RELEASED_ORDER_STATUSES = List.of("REJECTED");
+    private static final List<String> SETTLED_PAYMENT_STATUSES = List.of("PAID");
+
+    /** How a tier's documents were counted in the rollups: metric, dimension field, amount field (or none). */
+    private record Rollup(String metric, String dimensionField, String amountField) {
+    }
+
+    /** One archived collection: which hot documents qualify, what history reads filter on, its rollup. */
+    private record Tier(String hot, Function<Date, Bson> eligible, List<String> historyKeys, Rollup rollup) {
+        String archive() {
+            return hot + SUFFIX;
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final RollupService rollupService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration age;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Map<Class<?>, Tier> tiers;
+
+    public ArchiveService(MongoTemplate mongoTemplate,
+                          RollupService rollupService,
+                          MeterRegistry meterRegistry,
+                          @Value("${festivo.archive.enabled:true}") boolean enabled,
+                          @Value("${festivo.archive.age:90d}") Duration age,
+                          @Value("${festivo.archive.retention:730d}") Duration retention,
+                          @Value("${festivo.archive.batch-size:500}") int batchSize,
+                          @Value("${festivo.archive.max-batches-per-run:200}") int maxBatches) {
+        this.mongoTemplate = mongoTemplate;
+        this.rollupService = rollupService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.age = age;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        // Field names are the stored ones; ObjectId ids carry their creation time
+        this.tiers = Map.of(
+                SupplierReq.class, new Tier(mongoTemplate.getCollectionName(SupplierReq.class),
+                        cutoff -> Filters.or(
+                                Filters.lt("eventDate", cutoff),
+                                Filters.and(Filters.in("status", RELEASED_ORDER_STATUSES),
+                                        Filters.lt("_id", createdBefore(cutoff))),
+                                // The availability index only reads hot orders, so one still booking a date stays
+                                Filters.and(Filters.in("status", BOOKED_FINISHED_ORDER_STATUSES),
+                                        Filters.lt("_id", createdBefore(cutoff)),
+                                        Filters.or(Filters.lt("eventDate", new Date()),
+                                                Filters.and(Filters.eq("eventDate", null),
+                                                        Filters.eq("eventId", null))))),
+                        List.of("status", "eventId"),
+                        new Rollup(RollupService.SUPPLIER_ORDER_CATEGORY, "supplierCategory", null)),
+                SupplierPaymentEntity.class, new Tier(mongoTemplate.getCollectionName(SupplierPaymentEntity.class),
+                        cutoff -> Filters.and(
+                                Filters.in("paymentStatus", SETTLED_PAYMENT_STATUSES),
+                                Filters.or(
+                                        Filters.lt("paymentDate", cutoff),
+                                        Filters.and(Filters.eq("paymentDate", null),
+                                                Filters.lt("_id", createdBefore(cutoff))))),
+                        List.of("supplierEmail", "productId", "orderRequestId"),
+                        new Rollup(RollupService.SUPPLIER_PAYMENT_STATUS, "paymentStatus", "amount")),
+                // Checkout payments are captured in one step, so age alone decides; a recent edit keeps one hot
+                Payment.class, new Tier(mongoTemplate.getCollectionName(Payment.class),
+                        cutoff -> Filters.and(
+                                Filters.lt("_id", createdBefore(cutoff)),
+                                Filters.not(Filters.gte("lastModified", cutoff))),
+                        List.of("email"),
+                        new Rollup(RollupService.PAYMENT_CARD_TYPE, "cardType", "amount")));
+    }
+
+    /** The collections a read of {@code type} should cover: the hot one, then the archive for history. */
+    public List<String> collections(Class<?> type, boolean history) {
+        String hot = mongoTemplate.getCollectionName(type);
+        return history && tiers.containsKey(type) ? List.of(hot, hot + SUFFIX) : List.of(hot);
+    }
+
+    public <T> List<T> find(Query query, Class<T> type, boolean history) {
+        List<T> results = new ArrayList<>(mongoTemplate.find(query, type));
+        if (history && tiers.containsKey(type)) {
+            results.addAll(mongoTemplate.find(query, type, mongoTemplate.getCollectionName(type) + SUFFIX));
+        }
+        return results;
+    }
+
+    public <T> Optional<T> findArchived(String id, Class<T> type) {
+        return Optional.ofNullable(mongoTemplate.findById(id, type, mongoTemplate.getCollectionName(type) + SUFFIX));
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        for (Tier tier : tiers.values()) {
+            try {
+                MongoCollection<Document> archive = mongoTemplate.getCollection(tier.archive());
+                archive.createIndex(Indexes.ascending(ARCHIVED_AT),
+                        new IndexOptions().expireAfter(retention.toSeconds(), TimeUnit.SECONDS));
+                for (String key : tier.historyKeys()) {
+                    archive.createIndex(Indexes.ascending(key));
+                }
+            } catch (Exception e) {
+                // An existing TTL index with another expiry lands here too; change it with collMod
+                log.warn("Could not create indexes on {}: {}", tier.archive(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${festivo.archive.cron:0 45 2 * * *}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        Date cutoff = Date.from(Instant.now().minus(age));
+        for (Tier tier : tiers.values()) {
+            try {
+                long moved = 0;
+                for (int batch = 0; batch < maxBatches; batch++) {
+                    int count = moveBatch(tier, tier.eligible().apply(cutoff));
+                    moved += count;
+                    if (count < batchSize) {
+                        break;
+                    }
+                }
+                if (moved > 0) {
+                    log.info("Archived {} documents from {}", moved, tier.hot());
+                }
+            } catch (Exception e) {
+                log.warn("Archiving {} failed, the next run picks up where this one stopped: {}",
+                        tier.hot(), e.getMessage());
+            }
+        }
+    }
+
+    private int moveBatch(Tier tier, Bson eligible) {
+        MongoCollection<Document> hot = mongoTemplate.getCollection(tier.hot());
+        MongoCollection<Document> archive = mongoTemplate.getCollection(tier.archive());
+        List<Document> batch = hot.find(eligible).sort(Sorts.ascending("_id")).limit(batchSize)
+                .into(new ArrayList<>());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Date archivedAt = new Date();
+        List<ReplaceOneModel<Document>> copies = new ArrayList<>(batch.size());
+        List<Object> ids = new ArrayList<>(batch.size());
+        for (Document document : batch) {
+            ids.add(document.get("_id"));
+            copies.add(new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")),
+                    document.append(ARCHIVED_AT, archivedAt), new ReplaceOptions().upsert(true)));
+        }
+        archive.bulkWrite(copies);
+
+        long deleted = hot.deleteMany(Filters.and(Filters.in("_id", ids), eligible)).getDeletedCount();
+        Set<Object> stillHot = new HashSet<>();
+        if (deleted < ids.size()) {
+            hot.distinct("_id", Filters.in("_id", ids), Object.class).into(stillHot);
+            archive.deleteMany(Filters.in("_id", stillHot));
+        }
+        Rollup rollup = tier.rollup();
+        for (Document document : batch) {
+            if (!stillHot.contains(document.get("_id"))) {
+                rollupService.retract(rollup.metric(), Objects.toString(document.get(rollup.dimensionField()), null),
+                        amountOf(document, rollup.amountField()), RollupService.createdAt(document.get("_id")));
+            }
+        }
+        meterRegistry.counter("festivo.archive.moved", "collection", tier.hot()).increment(deleted);
+        return batch.size();
+    }
+
+    // BigDecimal amounts are stored as strings
+    private static double amountOf(Document document, String field) {
+        Object value = field == null ? null : document.get(field);
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        return value instanceof String text ? new BigDecimal(text).doubleValue() : 0;
+    }
+
+    private static ObjectId createdBefore(Date cutoff) {
+        // Timestamp followed by zeros: the smallest ObjectId of that second, so _id < it means "created earlier"
+        return new ObjectId(String.format("%08x%016x", cutoff.getTime() / 1000, 0));
+    }
+}
@@ -0,0 +1,649 @@
+package com.example.festivo.service.availabilityService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.festivo.dto.availabilityDTO.AvailabilityDTO;
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.suplierEntity.SupplierEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.entity.userentity.Event;
+import com.example.festivo.service.catalogService.CatalogCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Who is booked when: one {@link IntervalTree} per theme, keyed by event
+ * type and theme name since names repeat across types (from events), and
+ * one per supplier (from accepted supplier orders), rebuilt from Mongo at
+ * startup and kept current by the booking writes and the change stream.
+ * An accepted supplier holds its event's window and moves when the event
+ * does; without a booked event it holds the order's day.
+ *
+ * Booking writes reserve their window under the lock before the Mongo write,
+ * so of two overlapping requests exactly one gets in; the other sees the
+ * reservation and fails with 409. A failed write gives the window back. The
+ * check is per node: two nodes accepting the same slot in the same instant
+ * both succeed, and the change stream then shows both bookings everywhere.
+ */
+@Slf4j
+@Service
+public class AvailabilityService {
+
+    /** A booking window, [start, end) in epoch millis. */
+    public record Window(long start, long end) {
+    }
+
+    // Order statuses under which the accepted supplier is committed to the date
+    private static final Set<String> BOOKED_ORDER_STATUSES = Set.of("ACCEPTED", "PAID", "COMPLETED");
+    private static final Set<String> EVENT_WINDOW_FIELDS = Set.of("eventType", "eventTheme", "eventDate", "eventStart", "eventEnd");
+    private static final Comparator<AvailabilityDTO.Theme> THEME_ORDER = Comparator
+            .comparing(AvailabilityDTO.Theme::eventName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AvailabilityDTO.Theme::themeName);
+    private static final DateTimeFormatter LENIENT_DATE = DateTimeFormatter.ofPattern("uuuu-M-d");
+
+    /**
+     * A theme or supplier held for [start, end). Supplier bookings also keep
+     * their event and the order's own day, so they can follow the event.
+     */
+    private record Booking(String resource, long start, long end, String eventId, Window day) {
+
+        Booking(String resource, long start, long end) {
+            this(resource, start, end, null, null);
+        }
+
+        // This order booking on the event's current window, or on the order's day once the event holds none
+        Booking follow(Booking event) {
+            if (event != null) {
+                return new Booking(resource, event.start(), event.end(), eventId, day);
+            }
+            return day == null ? null : new Booking(resource, day.start(), day.end(), eventId, day);
+        }
+    }
+
+    /** All bookings of one kind, by resource and by booking id. */
+    private static final class Bookings {
+        final Map<String, IntervalTree> byResource = new HashMap<>();
+        final Map<String, Booking> byId = new HashMap<>();
+        // Supplier bookings by the event they follow
+        final Map<String, Set<String>> byEvent = new HashMap<>();
+        // Set while a reload reads Mongo: what changed meanwhile, null values meaning released
+        Map<String, Booking> changedWhileLoading;
+
+        Booking put(String id, Booking booking) {
+            Booking previous = booking == null ? byId.remove(id) : byId.put(id, booking);
+            if (previous != null) {
+                IntervalTree tree = byResource.get(previous.resource());
+                tree.remove(previous.start(), id);
+                if (tree.size() == 0) {
+                    byResource.remove(previous.resource());
+                }
+                if (previous.eventId() != null) {
+                    Set<String> ids = byEvent.get(previous.eventId());
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        byEvent.remove(previous.eventId());
+                    }
+                }
+            }
+            if (booking != null) {
+                byResource.computeIfAbsent(booking.resource(), resource -> new IntervalTree())
+                        .add(booking.start(), booking.end(), id);
+                if (booking.eventId() != null) {
+                    byEvent.computeIfAbsent(booking.eventId(), eventId -> new HashSet<>()).add(id);
+                }
+            }
+            if (changedWhileLoading != null) {
+                changedWhileLoading.put(id, booking);
+            }
+            return previous;
+        }
+
+        String conflict(String resource, long start, long end) {
+            IntervalTree tree = byResource.get(resource);
+            return tree == null ? null : tree.findOverlap(start, end);
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final CatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ZoneId zone;
+    private final Duration defaultDuration;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Replaced by reload under the write lock; every other access also holds the lock
+    private volatile Bookings themes = new Bookings();
+    private volatile Bookings suppliers = new Bookings();
+    private volatile boolean loaded;
+
+    public AvailabilityService(MongoTemplate mongoTemplate,
+                               CatalogCache catalogCache,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${festivo.availability.zone:UTC}") ZoneId zone,
+                               @Value("${festivo.availability.default-duration:6h}") Duration defaultDuration) {
+        this.mongoTemplate = mongoTemplate;
+        this.catalogCache = catalogCache;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.zone = zone;
+        this.defaultDuration = defaultDuration;
+    }
+
+    @PostConstruct
+    void registerGauge() {
+        meterRegistry.gauge("festivo.availability.bookings", this, service -> service.size());
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    // Retries a startup load that failed, e.g. because Mongo was not reachable yet
+    @Scheduled(fixedDelayString = "${festivo.availability.retry-interval-ms:60000}",
+            initialDelayString = "${festivo.availability.retry-interval-ms:60000}")
+    public void retryLoad() {
+        if (!loaded) {
+            reload();
+        }
+    }
+
+    /**
+     * Rebuilds both indexes from Mongo. Bookings made while the reload reads
+     * are replayed on top of what it read, so none are lost.
+     */
+    public synchronized void reload() {
+        long started = System.nanoTime();
+        Bookings startedThemes;
+        Bookings startedSuppliers;
+        lock.writeLock().lock();
+        try {
+            startedThemes = themes;
+            startedSuppliers = suppliers;
+            startedThemes.changedWhileLoading = new HashMap<>();
+            startedSuppliers.changedWhileLoading = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Bookings freshThemes = new Bookings();
+        Bookings freshSuppliers = new Bookings();
+        try {
+            Query events = new Query();
+            events.fields().include("eventType", "eventTheme", "eventDate", "eventStart", "eventEnd");
+            for (Event event : mongoTemplate.find(events, Event.class)) {
+                Booking booking = themeBooking(event);
+                if (booking != null) {
+                    freshThemes.put(event.getId(), booking);
+                }
+            }
+            Query orders = Query.query(Criteria.where("status").in(BOOKED_ORDER_STATUSES));
+            orders.fields().include("status", "acceptedSupplier", "eventId", "eventDate");
+            for (SupplierReq order : mongoTemplate.find(orders, SupplierReq.class)) {
+                Booking booking = supplierBooking(order, freshThemes);
+                if (booking != null) {
+                    freshSuppliers.put(order.getId(), booking);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not load the availability index, bookings are not checked yet: {}", e.getMessage());
+            lock.writeLock().lock();
+            try {
+                startedThemes.changedWhileLoading = null;
+                startedSuppliers.changedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            themes.changedWhileLoading.forEach(freshThemes::put);
+            suppliers.changedWhileLoading.forEach(freshSuppliers::put);
+            themes = freshThemes;
+            suppliers = freshSuppliers;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Availability index loaded: {} theme and {} supplier bookings in {} ms",
+                freshThemes.byId.size(), freshSuppliers.byId.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Free and booked themes and suppliers between {@code from} and
+     * {@code to}, in any format {@link #parseWindow} reads. A plain date as
+     * {@code to} includes that day; without {@code to} the window is the one
+     * {@code from} describes. One tree lookup per candidate.
+     */
+    public AvailabilityDTO availability(String from, String to, String eventName, String category) {
+        Window first = parseWindow(from);
+        Window last = to == null ? first : parseWindow(to);
+        if (first == null || last == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Dates must look like 2026-03-14 or 2026-03-14T18:00:00Z");
+        }
+        long end = to == null || isDay(to) ? last.end() : last.start();
+        return availability(new Date(first.start()), new Date(end), eventName, category);
+    }
+
+    private AvailabilityDTO availability(Date from, Date to, String eventName, String category) {
+        if (!to.after(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must be after 'from'");
+        }
+        if (!loaded) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Availability index is still loading");
+        }
+        Set<AvailabilityDTO.Theme> candidateThemes = new TreeSet<>(THEME_ORDER);
+        Set<String> supplierEmails = new TreeSet<>();
+        if (catalogCache.isWarm()) {
+            catalogCache.getThemes().stream()
+                    .filter(theme -> eventName == null || eventName.equals(theme.getEventName()))
+                    .forEach(theme -> addIfPresent(candidateThemes, theme));
+            catalogCache.getSuppliers().stream()
+                    .filter(supplier -> category == null || category.equalsIgnoreCase(supplier.getCategory()))
+                    .forEach(supplier -> addIfPresent(supplierEmails, supplier.getSupplierEmail()));
+        } else {
+            Query themeQuery = eventName == null ? new Query() : Query.query(Criteria.where("eventName").is(eventName));
+            themeQuery.fields().include("eventName", "themeName");
+            mongoTemplate.find(themeQuery, EventTheme.class).forEach(theme -> addIfPresent(candidateThemes, theme));
+            Query supplierQuery = category == null ? new Query()
+                    : Query.query(Criteria.where("category").regex("^" + Pattern.quote(category) + "$", "i"));
+            mongoTemplate.findDistinct(supplierQuery, "supplierEmail", SupplierEntity.class, String.class)
+                    .forEach(email -> addIfPresent(supplierEmails, email));
+        }
+
+        List<AvailabilityDTO.Theme> freeThemes = new ArrayList<>();
+        List<AvailabilityDTO.Theme> bookedThemes = new ArrayList<>();
+        List<String> freeSuppliers = new ArrayList<>();
+        List<String> bookedSuppliers = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (AvailabilityDTO.Theme theme : candidateThemes) {
+                String resource = themeKey(theme.eventName(), theme.themeName());
+                (themes.conflict(resource, from.getTime(), to.getTime()) == null ? freeThemes : bookedThemes).add(theme);
+            }
+            for (String email : supplierEmails) {
+                (suppliers.conflict(key(email), from.getTime(), to.getTime()) == null ? freeSuppliers : bookedSuppliers)
+                        .add(email);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new AvailabilityDTO(from, to, freeThemes, bookedThemes, freeSuppliers, bookedSuppliers);
+    }
+
+    /**
+     * Books the event's theme for its window around {@code write}, replacing
+     * whatever the event held before, and moves the event's accepted
+     * suppliers along. Throws 409 when another event has the theme, or one
+     * of those suppliers, in an overlapping window.
+     */
+    public <T> T bookEvent(Event event, Supplier<T> write) {
+        return book(true, event.getId(), themeBooking(event), "Theme '" + event.getEventTheme() + "'", write);
+    }
+
+    /**
+     * For a PUT or PATCH of an event: derives the typed window when only
+     * eventDate changes, then books the merged result like {@link #bookEvent}.
+     * Updates that leave theme and dates alone go straight through. A PUT
+     * names every window field, so it is booked without reading the event;
+     * a PATCH reads it only when the change may move the booking.
+     */
+    public <T> T bookEventUpdate(String id, Map<String, Object> changes, Supplier<T> write) {
+        if (changes.keySet().stream().noneMatch(EVENT_WINDOW_FIELDS::contains)) {
+            return write.get();
+        }
+        if (changes.get("eventStart") == null && changes.get("eventDate") instanceof String eventDate) {
+            Window window = parseWindow(eventDate);
+            changes.put("eventStart", window == null ? null : new Date(window.start()));
+            changes.put("eventEnd", window == null ? null : new Date(window.end()));
+        }
+        Event merged;
+        try {
+            if (changes.keySet().containsAll(EVENT_WINDOW_FIELDS)) {
+                Map<String, Object> window = new HashMap<>();
+                EVENT_WINDOW_FIELDS.forEach(field -> window.put(field, changes.get(field)));
+                merged = objectMapper.convertValue(window, Event.class);
+                merged.setId(id);
+            } else {
+                if (keepsBooking(id, changes)) {
+                    return write.get();
+                }
+                Event current = mongoTemplate.findById(id, Event.class);
+                if (current == null) {
+                    return write.get();
+                }
+                merged = objectMapper.updateValue(current, changes);
+            }
+        } catch (Exception e) {
+            // Bad values are reported by the update itself
+            return write.get();
+        }
+        requireEndAfterStart(merged);
+        return bookEvent(merged, write);
+    }
+
+    // Whether a partial change provably leaves the event's current booking where it is
+    private boolean keepsBooking(String id, Map<String, Object> changes) {
+        Booking current;
+        lock.readLock().lock();
+        try {
+            current = loaded ? themes.byId.get(id) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (current == null) {
+            return false;
+        }
+        boolean typed = changes.containsKey("eventType") || changes.containsKey("eventTheme");
+        if (typed && !(changes.get("eventType") instanceof String type && changes.get("eventTheme") instanceof String theme
+                && current.resource().equals(themeKey(type, theme)))) {
+            return false;
+        }
+        if (!changes.containsKey("eventStart") && !changes.containsKey("eventEnd") && !changes.containsKey("eventDate")) {
+            return true;
+        }
+        // A stored eventEnd or eventDate could still matter unless the change sets both ends
+        if (!changes.containsKey("eventEnd") || changes.get("eventStart") == null) {
+            return false;
+        }
+        long start = objectMapper.convertValue(changes.get("eventStart"), Date.class).getTime();
+        Object endValue = changes.get("eventEnd");
+        long end = endValue == null ? start + defaultDuration.toMillis()
+                : objectMapper.convertValue(endValue, Date.class).getTime();
+        return start == current.start() && end == current.end();
+    }
+
+    /** Same for a supplier order: an accepted order books its supplier for the event's window. */
+    public <T> T bookOrder(SupplierReq order, Supplier<T> write) {
+        Booking booking;
+        lock.readLock().lock();
+        try {
+            booking = supplierBooking(order, themes);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return book(false, order.getId(), booking, "Supplier '" + order.getAcceptedSupplier() + "'", write);
+    }
+
+    public void releaseEvent(String id) {
+        sync(true, id, null);
+    }
+
+    /** Applies an event as stored in Mongo, e.g. from the change stream; null when it was deleted. */
+    public void syncEvent(String id, Event event) {
+        sync(true, id, event == null ? null : themeBooking(event));
+    }
+
+    public void syncOrder(String id, SupplierReq order) {
+        Booking booking = null;
+        if (order != null) {
+            lock.readLock().lock();
+            try {
+                booking = supplierBooking(order, themes);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        sync(false, id, booking);
+    }
+
+    /**
+     * Sets eventStart/eventEnd from eventDate when the client did not send
+     * them. Rejects an end before the start.
+     */
+    public void fillWindow(Event event) {
+        if (event.getEventStart() == null && event.getEventDate() != null) {
+            Window window = parseWindow(event.getEventDate());
+            if (window != null) {
+                event.setEventStart(new Date(window.start()));
+                event.setEventEnd(new Date(window.end()));
+            }
+        }
+        requireEndAfterStart(event);
+    }
+
+    /**
+     * Reads a date the way clients send them: "2026-3-14" or "2026-03-14"
+     * is that whole day in the configured zone, an ISO date-time starts
+     * there and lasts the default duration. Null when it is neither.
+     */
+    public Window parseWindow(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        if (isDay(text)) {
+            LocalDate day = LocalDate.parse(text, LENIENT_DATE);
+            return new Window(day.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+        Instant start;
+        try {
+            start = OffsetDateTime.parse(text).toInstant();
+        } catch (DateTimeParseException notOffset) {
+            try {
+                start = LocalDateTime.parse(text).atZone(zone).toInstant();
+            } catch (DateTimeParseException notLocal) {
+                return null;
+            }
+        }
+        return new Window(start.toEpochMilli(), start.plus(defaultDuration).toEpochMilli());
+    }
+
+    private static boolean isDay(String text) {
+        try {
+            LocalDate.parse(text.trim(), LENIENT_DATE);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private <T> T book(boolean theme, String id, Booking booking, String what, Supplier<T> write) {
+        Booking previous;
+        Map<String, Booking> orders;
+        Map<String, Booking> placed = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            // Resolved under the lock: a reload swaps both fields while holding it
+            Bookings bookings = theme ? themes : suppliers;
+            previous = bookings.put(id, null);
+            orders = theme ? detachOrders(id) : Map.of();
+            try {
+                if (booking != null) {
+                    requireFree(bookings, booking, what, theme);
+                    bookings.put(id, booking);
+                }
+                for (Map.Entry<String, Booking> order : orders.entrySet()) {
+                    Booking moved = order.getValue().follow(booking);
+                    if (moved != null) {
+                        requireFree(suppliers, moved, "Supplier '" + moved.resource() + "' of this event", false);
+                    }
+                    suppliers.put(order.getKey(), moved);
+                    placed.put(order.getKey(), moved);
+                }
+            } catch (ResponseStatusException e) {
+                bookings.put(id, previous);
+                orders.forEach(suppliers::put);
+                throw e;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            return write.get();
+        } catch (RuntimeException e) {
+            // The write did not happen, so the old bookings are still the stored ones,
+            // unless something else has replaced ours in the meantime
+            lock.writeLock().lock();
+            try {
+                restore(theme ? themes : suppliers, id, booking, previous);
+                placed.forEach((orderId, moved) -> restore(suppliers, orderId, moved, orders.get(orderId)));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+    }
+
+    // Puts previous back only while id still holds exactly what this request put there
+    private static void restore(Bookings bookings, String id, Booking expected, Booking previous) {
+        if (bookings.byId.get(id) == expected) {
+            bookings.put(id, previous);
+        }
+    }
+
+    private void requireFree(Bookings bookings, Booking booking, String what, boolean theme) {
+        if (!loaded) {
+            meterRegistry.counter("festivo.availability.unchecked").increment();
+            return;
+        }
+        String holder = bookings.conflict(booking.resource(), booking.start(), booking.end());
+        if (holder != null) {
+            meterRegistry.counter("festivo.availability.conflicts", "kind", theme ? "theme" : "supplier").increment();
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    what + " is already booked in that window by " + holder);
+        }
+    }
+
+    // Takes the bookings of the event's orders out of the index and returns them by order id
+    private Map<String, Booking> detachOrders(String eventId) {
+        Map<String, Booking> detached = new HashMap<>();
+        for (String orderId : List.copyOf(suppliers.byEvent.getOrDefault(eventId, Set.of()))) {
+            detached.put(orderId, suppliers.put(orderId, null));
+        }
+        return detached;
+    }
+
+    private void sync(boolean theme, String id, Booking booking) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (theme) {
+                // What Mongo says wins here, so the orders follow without a conflict check
+                themes.put(id, booking);
+                detachOrders(id).forEach((orderId, order) -> suppliers.put(orderId, order.follow(booking)));
+            } else {
+                suppliers.put(id, booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Booking themeBooking(Event event) {
+        if (event.getEventTheme() == null || event.getEventTheme().isBlank()) {
+            return null;
+        }
+        Window window = windowOf(event);
+        return window == null ? null
+                : new Booking(themeKey(event.getEventType(), event.getEventTheme()), window.start(), window.end());
+    }
+
+    private Window windowOf(Event event) {
+        if (event.getEventStart() != null) {
+            long start = event.getEventStart().getTime();
+            long end = event.getEventEnd() != null ? event.getEventEnd().getTime()
+                    : start + defaultDuration.toMillis();
+            return end > start ? new Window(start, end) : null;
+        }
+        return parseWindow(event.getEventDate());
+    }
+
+    // The supplier is booked for the event's window when the event is known, else for the order's day
+    private Booking supplierBooking(SupplierReq order, Bookings events) {
+        if (order.getStatus() == null || !BOOKED_ORDER_STATUSES.contains(order.getStatus().toUpperCase(Locale.ROOT))
+                || order.getAcceptedSupplier() == null || order.getAcceptedSupplier().isBlank()) {
+            return null;
+        }
+        Window day = null;
+        if (order.getEventDate() != null) {
+            LocalDate date = order.getEventDate().toInstant().atZone(zone).toLocalDate();
+            day = new Window(date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+        Booking event = order.getEventId() == null ? null : events.byId.get(order.getEventId());
+        return new Booking(key(order.getAcceptedSupplier()), 0, 0, order.getEventId(), day).follow(event);
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return themes.byId.size() + suppliers.byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void requireEndAfterStart(Event event) {
+        if (event.getEventStart() != null && event.getEventEnd() != null
+                && !event.getEventEnd().after(event.getEventStart())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "eventEnd must be after eventStart");
+        }
+    }
+
+    private static void addIfPresent(Set<String> names, String name) {
+        if (name != null && !name.isBlank()) {
+            names.add(name);
+        }
+    }
+
+    private static void addIfPresent(Set<AvailabilityDTO.Theme> themes, EventTheme theme) {
+        if (theme.getThemeName() != null && !theme.getThemeName().isBlank()) {
+            themes.add(new AvailabilityDTO.Theme(theme.getEventName(), theme.getThemeName()));
+        }
+    }
+
+    // Theme names repeat across event types; an event's type is its theme's eventName
+    private static String themeKey(String eventName, String themeName) {
+        return (eventName == null ? "" : key(eventName)) + "\n" + key(themeName);
+    }
+
+    private static String key(String resource) {
+        return resource.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.festivo.service.availabilityService;
+
+/**
+ * Half-open intervals [start, end) in epoch millis, each tagged with the id
+ * of the booking that holds it. An AVL tree ordered by (start, id), where
+ * every node also keeps the largest end in its subtree, so an overlap test
+ * follows a single root-to-leaf path.
+ *
+ * Not thread-safe; {@link AvailabilityService} guards it with its lock.
+ */
+final class IntervalTree {
+
+    private static final class Node {
+        final long start;
+        final long end;
+        final String id;
+        Node left;
+        Node right;
+        int height = 1;
+        long maxEnd;
+
+        Node(long start, long end, String id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(long start, long end, String id) {
+        root = insert(root, new Node(start, end, id));
+        size++;
+    }
+
+    boolean remove(long start, String id) {
+        int before = size;
+        root = delete(root, start, id);
+        return size < before;
+    }
+
+    /** The id of some interval overlapping [from, to), or null when the window is free. */
+    String findOverlap(long from, long to) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < to && node.end > from) {
+                return node.id;
+            }
+            // If anything on the left ends after from but does not overlap, it starts at or after to,
+            // and so does everything on the right; either way the right side cannot overlap
+            node = node.left != null && node.left.maxEnd > from ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static int compare(long start, String id, Node node) {
+        int byStart = Long.compare(start, node.start);
+        return byStart != 0 ? byStart : id.compareTo(node.id);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private Node delete(Node node, long start, String id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.start, successor.end, successor.id);
+            replacement.left = node.left;
+            replacement.right = removeMin(node.right);
+            return balance(replacement);
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.festivo.service.cacheCoherenceService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.suplierEntity.SupplierEntity;
+import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.entity.userentity.Event;
+import com.example.festivo.entity.userentity.OurUsers;
+import com.example.festivo.service.availabilityService.AvailabilityService;
+import com.example.festivo.service.catalogService.CatalogCache;
+import com.example.festivo.service.emailFilterService.EmailExistenceService;
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps this node's caches coherent with writes made by other nodes. A
+ * single change stream over the cached collections is read on a dedicated
+ * thread. Each event refreshes or evicts the entry with that _id in
+ * {@link CatalogCache}, drops the affected pre-encoded responses, and feeds
+ * new emails to the Bloom filters. Event and supplier order changes move
+ * bookings in the {@link AvailabilityService} index.
+ *
+ * The resume token is saved every few seconds under this node's id, so a
+ * restarted node replays what it missed. Without a configured id (normally
+ * the HOSTNAME) the node generates one and keeps it on local disk; two nodes
+ * must never share an id, or each skips the events the other has read. If the oplog no longer reaches back that far, the catalog
+ * does a full reload instead. Change streams need a replica set; against a
+ * standalone mongod the bus switches itself off, and caches fall back to
+ * their periodic reconcile.
+ */
+@Slf4j
+@Service
+public class CacheCoherenceService {
+
+    // Server error codes: not a replica set, resume point fell off the oplog, stream cannot continue
+    private static final int NOT_A_REPLICA_SET = 40573;
+    private static final int HISTORY_LOST = 286;
+    private static final int FATAL = 280;
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ResumeTokenStore resumeTokenStore;
+    private final CatalogCache catalogCache;
+    private final ResponseByteCache responseByteCache;
+    private final EmailExistenceService emailExistenceService;
+    private final AvailabilityService availabilityService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final String nodeId;
+    private final long tokenSaveIntervalMs;
+
+    private final String themes;
+    private final String suppliers;
+    private final String products;
+    private final String users;
+    private final String events;
+    private final String orders;
+
+    // Seconds between a write on the primary and this node applying it
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private volatile boolean running;
+    private Thread reader;
+
+    public CacheCoherenceService(MongoTemplate mongoTemplate,
+                                 ResumeTokenStore resumeTokenStore,
+                                 CatalogCache catalogCache,
+                                 ResponseByteCache responseByteCache,
+                                 EmailExistenceService emailExistenceService,
+                                 AvailabilityService availabilityService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${festivo.cache-coherence.enabled:true}") boolean enabled,
+                                 @Value("${festivo.cache-coherence.node-id:}") String nodeId,
+                                 @Value("${festivo.cache-coherence.node-id-file:snapshot/node-id}") Path nodeIdFile,
+                                 @Value("${festivo.cache-coherence.token-save-interval-ms:2000}") long tokenSaveIntervalMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.resumeTokenStore = resumeTokenStore;
+        this.catalogCache = catalogCache;
+        this.responseByteCache = responseByteCache;
+        this.emailExistenceService = emailExistenceService;
+        this.availabilityService = availabilityService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.nodeId = nodeId.isBlank() ? localNodeId(nodeIdFile) : nodeId;
+        this.tokenSaveIntervalMs = tokenSaveIntervalMs;
+        this.themes = mongoTemplate.getCollectionName(EventTheme.class);
+        this.suppliers = mongoTemplate.getCollectionName(SupplierEntity.class);
+        this.products = mongoTemplate.getCollectionName(SupplierProductEntity.class);
+        this.users = mongoTemplate.getCollectionName(OurUsers.class);
+        this.events = mongoTemplate.getCollectionName(Event.class);
+        this.orders = mongoTemplate.getCollectionName(SupplierReq.class);
+        meterRegistry.gauge("festivo.cache.coherence.lag", lagSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        reader = new Thread(this::run, "cache-coherence");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (reader != null) {
+            reader.interrupt();
+            reader.join(5_000);
+        }
+    }
+
+    private void run() {
+        long backoff = 1_000;
+        while (running) {
+            BsonDocument token = null;
+            try {
+                token = resumeTokenStore.load(nodeId);
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open(token).cursor()) {
+                    log.info("Cache coherence stream open for node {} ({})", nodeId,
+                            token == null ? "from now" : "resuming");
+                    backoff = 1_000;
+                    long lastSave = System.currentTimeMillis();
+                    while (running) {
+                        ChangeStreamDocument<Document> change = cursor.tryNext();
+                        if (change != null) {
+                            apply(change);
+                        }
+                        // Advances even without events, so the saved position stays inside the oplog window
+                        BsonDocument current = cursor.getResumeToken();
+                        if (current != null && System.currentTimeMillis() - lastSave >= tokenSaveIntervalMs) {
+                            resumeTokenStore.save(nodeId, current);
+                            lastSave = System.currentTimeMillis();
+                        }
+                    }
+                    BsonDocument last = cursor.getResumeToken();
+                    if (last != null) {
+                        resumeTokenStore.save(nodeId, last);
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == NOT_A_REPLICA_SET) {
+                    log.warn("Mongo is not a replica set, cross-node cache invalidation is off: {}", e.getErrorMessage());
+                    return;
+                }
+                if (token != null && (e.getErrorCode() == HISTORY_LOST || e.getErrorCode() == FATAL)) {
+                    log.warn("Resume token for {} is no longer usable, reloading caches: {}", nodeId, e.getErrorMessage());
+                    try {
+                        resumeTokenStore.clear(nodeId);
+                        resync("history_lost");
+                        continue;
+                    } catch (Exception clearFailed) {
+                        backoff = pause(backoff, clearFailed);
+                        continue;
+                    }
+                }
+                backoff = pause(backoff, e);
+            } catch (Exception e) {
+                backoff = pause(backoff, e);
+            }
+        }
+    }
+
+    private ChangeStreamIterable<Document> open(BsonDocument token) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", themes, suppliers, products, users, events, orders))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        // startAfter, unlike resumeAfter, also accepts the token of an invalidate event
+        return token == null ? stream : stream.startAfter(token);
+    }
+
+    private long pause(long backoff, Exception e) {
+        if (!running) {
+            return backoff;
+        }
+        log.warn("Cache coherence stream failed, retrying in {} ms: {}", backoff, e.getMessage());
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        return Math.min(backoff * 2, MAX_BACKOFF_MS);
+    }
+
+    private void apply(ChangeStreamDocument<Document> change) {
+        OperationType operation = change.getOperationType();
+        if (change.getClusterTime() != null) {
+            lagSeconds.set(Math.max(0, System.currentTimeMillis() / 1000 - change.getClusterTime().getTime()));
+        }
+        if (operation == OperationType.DROP || operation == OperationType.DROP_DATABASE
+                || operation == OperationType.RENAME || operation == OperationType.INVALIDATE) {
+            resync(operation.getValue());
+            return;
+        }
+        if (change.getNamespace() == null || change.getDocumentKey() == null) {
+            return;
+        }
+        String collection = change.getNamespace().getCollectionName();
+        String id = idOf(change.getDocumentKey().get("_id"));
+        // Null after a delete, or when the document was deleted before the update lookup ran
+        Document document = change.getFullDocument();
+        meterRegistry.counter("festivo.cache.coherence.events",
+                "collection", collection, "operation", operation.getValue()).increment();
+
+        if (collection.equals(themes)) {
+            catalogCache.refresh(EventTheme.class, id, document);
+            responseByteCache.invalidate(ResponseByteCache.EVENT_THEMES);
+        } else if (collection.equals(products)) {
+            catalogCache.refresh(SupplierProductEntity.class, id, document);
+            responseByteCache.invalidate(ResponseByteCache.SUPPLIER_PRODUCTS);
+        } else if (collection.equals(suppliers)) {
+            catalogCache.refresh(SupplierEntity.class, id, document);
+            if (operation == OperationType.INSERT && document != null) {
+                emailExistenceService.supplierAdded(document.getString("supplierEmail"));
+            }
+        } else if (collection.equals(events)) {
+            availabilityService.syncEvent(id,
+                    document == null ? null : mongoTemplate.getConverter().read(Event.class, document));
+        } else if (collection.equals(orders)) {
+            availabilityService.syncOrder(id,
+                    document == null ? null : mongoTemplate.getConverter().read(SupplierReq.class, document));
+        } else if (collection.equals(users)) {
+            // Deletes carry no email without pre-images; a stale positive only costs one lookup
+            if (operation == OperationType.INSERT && document != null) {
+                emailExistenceService.userAdded(document.getString("email"));
+            }
+        }
+    }
+
+    private void resync(String reason) {
+        meterRegistry.counter("festivo.cache.coherence.resyncs", "reason", reason).increment();
+        responseByteCache.invalidate(ResponseByteCache.EVENT_THEMES);
+        responseByteCache.invalidate(ResponseByteCache.SUPPLIER_PRODUCTS);
+        catalogCache.resync();
+        availabilityService.reload();
+    }
+
+    private static String localNodeId(Path file) {
+        try {
+            if (Files.exists(file)) {
+                String stored = Files.readString(file).trim();
+                if (!stored.isEmpty()) {
+                    return stored;
+                }
+            }
+            String generated = UUID.randomUUID().toString();
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, generated);
+            log.info("Generated cache coherence node id {} in {}", generated, file);
+            return generated;
+        } catch (IOException e) {
+            // Still unique, but this node starts from now after every restart
+            String generated = UUID.randomUUID().toString();
+            log.warn("Could not keep the cache coherence node id in {}, using {} until restart: {}",
+                    file, generated, e.getMessage());
+            return generated;
+        }
+    }
+
+    private static String idOf(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.festivo.service.cacheCoherenceService;
+
+import java.util.Date;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+
+/**
+ * One change-stream resume token per node, kept in Mongo next to the data so
+ * a restarted node continues exactly where it stopped reading.
+ */
+@Component
+public class ResumeTokenStore {
+
+    static final String COLLECTION = "cacheCoherenceTokens";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ResumeTokenStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public BsonDocument load(String nodeId) {
+        BsonDocument stored = collection().find(Filters.eq("_id", nodeId)).first();
+        return stored == null ? null : stored.getDocument("token", null);
+    }
+
+    public void save(String nodeId, BsonDocument token) {
+        BsonDocument document = new BsonDocument("_id", new BsonString(nodeId))
+                .append("token", token)
+                .append("updatedAt", new BsonDateTime(new Date().getTime()));
+        collection().replaceOne(Filters.eq("_id", nodeId), document, new ReplaceOptions().upsert(true));
+    }
+
+    public void clear(String nodeId) {
+        collection().deleteOne(Filters.eq("_id", nodeId));
+    }
+
+    private MongoCollection<BsonDocument> collection() {
+        return mongoTemplate.getDb().getCollection(COLLECTION, BsonDocument.class);
+    }
+}
@@ -0,0 +1,461 @@
+package com.example.festivo.service.catalogService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.eventEntity.ThemePackage;
+import com.example.festivo.entity.suplierEntity.SupplierEntity;
+import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the catalog collections (themes, suppliers, products).
+ *
+ * The cache is filled from the on-disk snapshot while the context starts,
+ * before Tomcat accepts connections. It is then reconciled with Mongo in the
+ * background: a lastModified range query finds inserts and updates, and
+ * deletes arrive through {@link #refresh} and the local removes. A much
+ * rarer id sweep catches what those miss, such as deletes while the change
+ * stream was down. Until the first snapshot load or full load succeeds it
+ * reports itself cold, and the services read from Mongo as before.
+ */
+@Slf4j
+@Service
+public class CatalogCache {
+
+    private static final class Section<T> {
+        final Class<T> type;
+        final Function<T, String> id;
+        final Function<T, Date> lastModified;
+        final ConcurrentSkipListMap<String, T> byId = new ConcurrentSkipListMap<>();
+        // Optional second key (the supplier email) -> id, kept in step by put and remove
+        final Function<T, String> key;
+        final Map<String, String> idByKey = new ConcurrentHashMap<>();
+        // The ResponseByteCache view encoded from this section, if any
+        final String view;
+
+        Section(Class<T> type, Function<T, String> id, Function<T, Date> lastModified, String view) {
+            this(type, id, lastModified, null, view);
+        }
+
+        Section(Class<T> type, Function<T, String> id, Function<T, Date> lastModified, Function<T, String> key,
+                String view) {
+            this.type = type;
+            this.id = id;
+            this.lastModified = lastModified;
+            this.key = key;
+            this.view = view;
+        }
+
+        // Keeps whichever copy was modified last, so a reconcile never undoes a newer local write.
+        // True when the cached value changed.
+        boolean put(T entity) {
+            T previous = byId.get(id.apply(entity));
+            T kept = byId.merge(id.apply(entity), entity, (current, incoming) -> {
+                Date currentAt = lastModified.apply(current);
+                Date incomingAt = lastModified.apply(incoming);
+                return currentAt != null && incomingAt != null && incomingAt.before(currentAt) ? current : incoming;
+            });
+            if (key != null) {
+                String oldKey = previous == null ? null : key.apply(previous);
+                String newKey = key.apply(kept);
+                if (oldKey != null && !oldKey.equals(newKey)) {
+                    idByKey.remove(oldKey, id.apply(kept));
+                }
+                if (newKey != null) {
+                    idByKey.put(newKey, id.apply(kept));
+                }
+            }
+            return !kept.equals(previous);
+        }
+
+        boolean remove(String entryId) {
+            T removed = byId.remove(entryId);
+            if (removed != null && key != null && key.apply(removed) != null) {
+                idByKey.remove(key.apply(removed), entryId);
+            }
+            return removed != null;
+        }
+
+        Optional<T> byKey(String value) {
+            String entryId = idByKey.get(value);
+            T entity = entryId == null ? null : byId.get(entryId);
+            return entity != null && value.equals(key.apply(entity)) ? Optional.of(entity) : Optional.empty();
+        }
+    }
+
+    // Rolling deploys and clock skew between instances; re-reading a little too much is harmless
+    private static final Duration SKEW = Duration.ofMinutes(1);
+    private static final int ID_BATCH = 1000;
+
+    private final Section<EventTheme> themes = new Section<>(EventTheme.class, EventTheme::getId, EventTheme::getLastModified,
+            ResponseByteCache.EVENT_THEMES);
+    private final Section<SupplierEntity> suppliers = new Section<>(SupplierEntity.class, SupplierEntity::getId, SupplierEntity::getLastModified,
+            SupplierEntity::getSupplierEmail, null);
+    private final Section<SupplierProductEntity> products = new Section<>(SupplierProductEntity.class, SupplierProductEntity::getId,
+            SupplierProductEntity::getLastModified, ResponseByteCache.SUPPLIER_PRODUCTS);
+    private final List<Section<?>> sections = List.of(themes, suppliers, products);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper smileMapper;
+    private final ResponseByteCache responseByteCache;
+    private final MeterRegistry meterRegistry;
+    private final Path snapshotFile;
+    private final boolean enabled;
+    private final long sweepIntervalMillis;
+
+    private volatile boolean warm;
+    // Every change made in Mongo before this time is known to be in the cache
+    private volatile long syncedAt;
+    // Last full id comparison; a full load counts as one
+    private long sweptAt;
+
+    public CatalogCache(MongoTemplate mongoTemplate,
+                        MappingJackson2SmileHttpMessageConverter smileConverter,
+                        ResponseByteCache responseByteCache,
+                        MeterRegistry meterRegistry,
+                        @Value("${festivo.catalog.snapshot-file:snapshot/catalog.bin}") Path snapshotFile,
+                        @Value("${festivo.catalog.enabled:true}") boolean enabled,
+                        @Value("${festivo.catalog.sweep-interval:1h}") Duration sweepInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.smileMapper = smileConverter.getObjectMapper();
+        this.responseByteCache = responseByteCache;
+        this.meterRegistry = meterRegistry;
+        this.snapshotFile = snapshotFile;
+        this.enabled = enabled;
+        this.sweepIntervalMillis = sweepInterval.toMillis();
+        for (Section<?> section : sections) {
+            meterRegistry.gauge("festivo.catalog.entries",
+                    Tags.of("collection", mongoTemplate.getCollectionName(section.type)), section.byId, Map::size);
+        }
+    }
+
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshotFile.Snapshot snapshot = CatalogSnapshotFile.read(snapshotFile);
+            if (snapshot == null) {
+                log.info("No catalog snapshot at {}, the cache warms from Mongo", snapshotFile);
+                return;
+            }
+            for (Section<?> section : sections) {
+                ByteBuffer payload = snapshot.sections().get(mongoTemplate.getCollectionName(section.type));
+                if (payload == null) {
+                    throw new IOException("Snapshot has no " + section.type.getSimpleName() + " section");
+                }
+                decode(section, payload);
+            }
+            syncedAt = snapshot.syncedAt();
+            warm = true;
+            log.info("Loaded catalog snapshot from {} ({} themes, {} suppliers, {} products) in {} ms",
+                    snapshotFile, themes.byId.size(), suppliers.byId.size(), products.byId.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            sections.forEach(section -> {
+                section.byId.clear();
+                section.idByKey.clear();
+            });
+            log.warn("Ignoring catalog snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private <T> void decode(Section<T> section, ByteBuffer payload) throws IOException {
+        List<T> entities = smileMapper.readValue(new ByteBufferBackedInputStream(payload),
+                smileMapper.getTypeFactory().constructCollectionType(List.class, section.type));
+        entities.forEach(section::put);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${festivo.catalog.reconcile-interval-ms:60000}",
+            initialDelayString = "${festivo.catalog.reconcile-interval-ms:60000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Full load while cold, otherwise only the delta since the last sync,
+     * plus an id sweep once per sweep interval.
+     */
+    public synchronized void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean sweep = started - sweptAt >= sweepIntervalMillis;
+        String mode = !warm ? "full" : sweep ? "sweep" : "delta";
+        try {
+            for (Section<?> section : sections) {
+                boolean changed = warm
+                        ? reconcile(section, new Date(syncedAt - SKEW.toMillis()), started, sweep)
+                        : load(section);
+                // Without this, a stale snapshot or a write seen only here keeps being served pre-encoded
+                if (changed && section.view != null) {
+                    responseByteCache.invalidate(section.view);
+                }
+            }
+            syncedAt = started;
+            if (sweep || !warm) {
+                sweptAt = started;
+            }
+            warm = true;
+            sample.stop(meterRegistry.timer("festivo.catalog.reconcile", "mode", mode, "outcome", "success"));
+        } catch (Exception e) {
+            sample.stop(meterRegistry.timer("festivo.catalog.reconcile", "mode", mode, "outcome", "failure"));
+            log.warn("Catalog {} reconcile failed: {}", mode, e.getMessage());
+        }
+    }
+
+    // Both return whether the section changed, so the pre-encoded responses built from it can be dropped
+    private <T> boolean load(Section<T> section) {
+        List<T> all = mongoTemplate.findAll(section.type);
+        Set<String> ids = new HashSet<>();
+        all.forEach(entity -> ids.add(section.id.apply(entity)));
+        boolean changed = false;
+        for (String id : List.copyOf(section.byId.keySet())) {
+            if (!ids.contains(id)) {
+                changed |= section.remove(id);
+            }
+        }
+        for (T entity : all) {
+            changed |= section.put(entity);
+        }
+        return changed;
+    }
+
+    private <T> boolean reconcile(Section<T> section, Date since, long started, boolean sweep) {
+        Set<String> ids = sweep ? ids(section) : null;
+
+        // Deleted in Mongo; anything written locally since the scan started is kept
+        boolean changed = false;
+        if (ids != null) {
+            for (Map.Entry<String, T> entry : section.byId.entrySet()) {
+                if (!ids.contains(entry.getKey()) && !modifiedSince(section, entry.getValue(), started)) {
+                    changed |= section.remove(entry.getKey());
+                }
+            }
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (T entity : mongoTemplate.find(Query.query(Criteria.where("lastModified").gte(since)), section.type)) {
+            changed |= section.put(entity);
+            seen.add(section.id.apply(entity));
+        }
+        if (ids == null) {
+            return changed;
+        }
+
+        // Inserted elsewhere without a recent lastModified, e.g. by an older build during a rolling deploy
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            if (!section.byId.containsKey(id) && !seen.contains(id)) {
+                missing.add(id);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += ID_BATCH) {
+            List<String> batch = missing.subList(from, Math.min(missing.size(), from + ID_BATCH));
+            for (T entity : mongoTemplate.find(Query.query(Criteria.where("id").in(batch)), section.type)) {
+                changed |= section.put(entity);
+            }
+        }
+        return changed;
+    }
+
+    private <T> Set<String> ids(Section<T> section) {
+        Query idsOnly = new Query();
+        idsOnly.fields().include("id");
+        Set<String> ids = new HashSet<>();
+        for (T entity : mongoTemplate.find(idsOnly, section.type)) {
+            ids.add(section.id.apply(entity));
+        }
+        return ids;
+    }
+
+    private static <T> boolean modifiedSince(Section<T> section, T entity, long time) {
+        Date modified = section.lastModified.apply(entity);
+        return modified != null && modified.getTime() >= time;
+    }
+
+    @Scheduled(fixedDelayString = "${festivo.catalog.snapshot-interval-ms:300000}",
+            initialDelayString = "${festivo.catalog.snapshot-interval-ms:300000}")
+    public void scheduledSnapshot() {
+        writeSnapshot();
+    }
+
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!enabled || !warm) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            long at = syncedAt;
+            Map<String, byte[]> payloads = new LinkedHashMap<>();
+            for (Section<?> section : sections) {
+                payloads.put(mongoTemplate.getCollectionName(section.type),
+                        smileMapper.writeValueAsBytes(new ArrayList<>(section.byId.values())));
+            }
+            CatalogSnapshotFile.write(snapshotFile, at, payloads);
+            log.debug("Wrote catalog snapshot to {} in {} ms", snapshotFile, (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Could not write catalog snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies a change made elsewhere: replaces the entry with that id, or
+     * evicts it when there is no document (deleted).
+     */
+    public <T> void refresh(Class<T> type, String id, org.bson.Document document) {
+        if (!enabled || id == null) {
+            return;
+        }
+        for (Section<?> section : sections) {
+            if (section.type == type) {
+                refresh(section, id, document);
+            }
+        }
+    }
+
+    private <T> void refresh(Section<T> section, String id, org.bson.Document document) {
+        if (document == null) {
+            section.remove(id);
+        } else {
+            section.put(mongoTemplate.getConverter().read(section.type, document));
+        }
+    }
+
+    /**
+     * Drops back to Mongo reads and reloads everything, for when the change
+     * history needed to catch up is gone.
+     */
+    public synchronized void resync() {
+        warm = false;
+        reconcile();
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    // Getters hand out copies: the entities are mutable, and a caller editing one would edit the cache
+
+    public List<EventTheme> getThemes() {
+        return themes.byId.values().stream().map(CatalogCache::copy).toList();
+    }
+
+    public List<EventTheme> getThemesByEvent(String eventName) {
+        return themes.byId.values().stream().filter(theme -> eventName.equals(theme.getEventName()))
+                .map(CatalogCache::copy).toList();
+    }
+
+    public List<SupplierEntity> getSuppliers() {
+        return suppliers.byId.values().stream().map(CatalogCache::copy).toList();
+    }
+
+    /** Empty also when the supplier was created elsewhere and has not reached this cache yet. */
+    public Optional<SupplierEntity> getSupplierByEmail(String email) {
+        return suppliers.byKey(email).map(CatalogCache::copy);
+    }
+
+    public List<SupplierProductEntity> getProducts() {
+        return products.byId.values().stream().map(CatalogCache::copy).toList();
+    }
+
+    public List<SupplierProductEntity> getProductsBySupplierEmail(String email) {
+        return products.byId.values().stream().filter(product -> email.equals(product.getSupplierEmail()))
+                .map(CatalogCache::copy).toList();
+    }
+
+    public void put(EventTheme theme) {
+        themes.put(theme);
+    }
+
+    public void put(SupplierEntity supplier) {
+        suppliers.put(supplier);
+    }
+
+    public void put(SupplierProductEntity product) {
+        products.put(product);
+    }
+
+    public void removeTheme(String id) {
+        themes.remove(id);
+    }
+
+    public void removeProduct(String id) {
+        products.remove(id);
+    }
+
+    public void removeSupplierByEmail(String email) {
+        suppliers.byKey(email).ifPresent(supplier -> suppliers.remove(supplier.getId()));
+        suppliers.idByKey.remove(email);
+    }
+
+    private static EventTheme copy(EventTheme theme) {
+        List<ThemePackage> packages = theme.getThemePackage() == null ? null : theme.getThemePackage().stream()
+                .map(p -> new ThemePackage(p.getPackageName(), p.getPackagePrice(), p.getDescription(), p.getId()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        return new EventTheme(theme.getId(), theme.getEventName(), theme.getThemeName(), theme.getColor(),
+                theme.getPrice(), theme.getDescription(), theme.getImg(), packages, copy(theme.getLastModified()));
+    }
+
+    private static SupplierEntity copy(SupplierEntity supplier) {
+        return new SupplierEntity(supplier.getId(), supplier.getSupplierEmail(), supplier.getCompanyName(),
+                supplier.getCategory(), supplier.getAddress(), copy(supplier.getLastModified()));
+    }
+
+    private static SupplierProductEntity copy(SupplierProductEntity product) {
+        return new SupplierProductEntity(product.getId(), product.getSupplierEmail(), product.getProductName(),
+                product.getPrice(), product.getQuantity(), product.getDescription(), product.getImageUrl(),
+                copy(product.getLastModified()));
+    }
+
+    private static Date copy(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+}
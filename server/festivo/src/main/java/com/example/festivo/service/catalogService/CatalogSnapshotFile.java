@@ -0,0 +1,109 @@
+package com.example.festivo.service.catalogService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the catalog snapshot through a memory-mapped file.
+ * Layout, big-endian:
+ *
+ * <pre>
+ * int   magic "FCS1"
+ * long  syncedAt (epoch ms)
+ * int   section count
+ * per section: short name length, name (UTF-8), int payload length, payload
+ * long  CRC32 of everything before it
+ * </pre>
+ *
+ * Section payloads are opaque here; the cache stores each collection as one
+ * Smile-encoded array.
+ */
+public final class CatalogSnapshotFile {
+
+    static final int MAGIC = 0x46435331;
+
+    public record Snapshot(long syncedAt, Map<String, ByteBuffer> sections) {
+    }
+
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Writes to a sibling temp file and renames it over the old snapshot, so a
+     * crash mid-write leaves the previous snapshot intact.
+     */
+    public static void write(Path file, long syncedAt, Map<String, byte[]> sections) throws IOException {
+        long size = 4 + 8 + 4 + 8;
+        for (Map.Entry<String, byte[]> section : sections.entrySet()) {
+            size += 2 + section.getKey().getBytes(StandardCharsets.UTF_8).length + 4 + section.getValue().length;
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putLong(syncedAt).putInt(sections.size());
+            for (Map.Entry<String, byte[]> section : sections.entrySet()) {
+                byte[] name = section.getKey().getBytes(StandardCharsets.UTF_8);
+                buffer.putShort((short) name.length).put(name);
+                buffer.putInt(section.getValue().length).put(section.getValue());
+            }
+            buffer.putLong(crc(buffer, buffer.position()));
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps the snapshot read-only. The section buffers are views over the
+     * mapping, so nothing is copied until the payload is decoded. Returns null
+     * when there is no snapshot yet.
+     */
+    public static Snapshot read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < 24 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalog snapshot: " + file);
+        }
+        int end = buffer.capacity() - 8;
+        if (buffer.getLong(end) != crc(buffer, end)) {
+            throw new IOException("Catalog snapshot checksum mismatch: " + file);
+        }
+
+        buffer.position(4);
+        long syncedAt = buffer.getLong();
+        int count = buffer.getInt();
+        Map<String, ByteBuffer> sections = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            int length = buffer.getInt();
+            sections.put(new String(name, StandardCharsets.UTF_8), buffer.slice(buffer.position(), length));
+            buffer.position(buffer.position() + length);
+        }
+        return new Snapshot(syncedAt, sections);
+    }
+
+    private static long crc(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, length));
+        return crc.getValue();
+    }
+}
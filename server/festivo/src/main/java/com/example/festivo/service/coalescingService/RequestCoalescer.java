@@ -0,0 +1,107 @@
+package com.example.festivo.service.coalescingService;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight for read calls. While a call for a given method and argument
+ * list is running, identical calls wait for its result instead of issuing
+ * their own query. Nothing is kept once the call finishes, but a caller that
+ * joins a running call can still get a result read before a write it has
+ * already seen complete. Do not use it where that matters.
+ *
+ * <p>Results are shared between all waiters; lists are handed out as
+ * unmodifiable views, and their elements must be treated as read-only too.
+ */
+@Service
+public class RequestCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Duration> timeouts = new ConcurrentHashMap<>();
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Duration defaultTimeout;
+
+    public RequestCoalescer(Environment environment,
+                            MeterRegistry meterRegistry,
+                            @Value("${festivo.coalescing.timeout:5s}") Duration defaultTimeout) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaultTimeout = defaultTimeout;
+        meterRegistry.gaugeMapSize("festivo.coalescing.in_flight", List.of(), inFlight);
+    }
+
+    /**
+     * Runs {@code loader} unless an identical call is already in flight, in
+     * which case its result (or exception) is returned instead.
+     *
+     * @param method repository method, e.g. {@code "EventThemeRepository.findAll"};
+     *               also the name of the timeout override
+     *               {@code festivo.coalescing.timeouts.<method>}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String method, Supplier<T> loader, Object... args) {
+        String key = args.length == 0 ? method : method + Arrays.deepToString(args);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing == null) {
+            count(method, "leader");
+            try {
+                T result = readOnly(loader.get());
+                flight.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, flight);
+            }
+        }
+
+        count(method, "follower");
+        Duration timeout = timeouts.computeIfAbsent(method, m ->
+                environment.getProperty("festivo.coalescing.timeouts." + m, Duration.class, defaultTimeout));
+        try {
+            return (T) existing.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            count(method, "timeout");
+            throw new RuntimeException("Timed out after " + timeout.toMillis() + " ms waiting for " + method);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for " + method, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T readOnly(T result) {
+        return result instanceof List<?> list ? (T) Collections.unmodifiableList(list) : result;
+    }
+
+    private void count(String method, String role) {
+        meterRegistry.counter("festivo.coalescing.calls", "method", method, "role", role).increment();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.festivo.service.emailFilterService;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Counting Bloom filter over strings. Unlike a plain Bloom filter it supports
+ * removal, so deleted emails stop answering "maybe present".
+ * A negative answer is always exact, a positive answer must be confirmed.
+ *
+ * Removing a value that was never added would take counters away from the
+ * values that made it look present, so the filter keeps the 64-bit hash of
+ * each member: adding twice counts once, and only members can be removed.
+ */
+public class CountingBloomFilter {
+
+    private final AtomicIntegerArray counters;
+    private final int hashCount;
+    // Two values with the same hash also share every counter, so the hash is identity enough
+    private final Set<Long> members = ConcurrentHashMap.newKeySet();
+
+    public CountingBloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-6), 0.5);
+        int size = (int) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.counters = new AtomicIntegerArray(Math.max(64, size));
+        this.hashCount = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+    }
+
+    /** @return false if the value was already a member */
+    public boolean add(String value) {
+        long hash = hash64(value);
+        if (!members.add(hash)) {
+            return false;
+        }
+        for (int i = 0; i < hashCount; i++) {
+            counters.incrementAndGet(index(hash, i));
+        }
+        return true;
+    }
+
+    /** @return false if the value was not a member, in which case no counter changes */
+    public boolean remove(String value) {
+        long hash = hash64(value);
+        if (!members.remove(hash)) {
+            return false;
+        }
+        for (int i = 0; i < hashCount; i++) {
+            counters.decrementAndGet(index(hash, i));
+        }
+        return true;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        for (int i = 0; i < hashCount; i++) {
+            if (counters.get(index(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Kirsch-Mitzenmacher double hashing: h1 + i * h2 simulates k hash functions
+    private int index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % counters.length();
+    }
+
+    // 64-bit FNV-1a followed by a murmur3 finalizer for better bit spread
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
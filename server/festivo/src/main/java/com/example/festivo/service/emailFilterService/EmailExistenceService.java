@@ -0,0 +1,189 @@
+package com.example.festivo.service.emailFilterService;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.repository.supplierRepository.SupplierRepository;
+import com.example.festivo.repository.userrepository.UsersRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers "is this email taken?" for users and suppliers. Emails that were
+ * never registered are rejected by an in-memory counting Bloom filter without
+ * a Mongo round trip; possible hits are confirmed with an indexed lookup.
+ *
+ * The filters hold one entry per email, not per row. An email only leaves a
+ * filter once Mongo confirms no row still has it, and that check runs under
+ * the same lock as adds, so a registration racing a delete keeps its entry.
+ */
+@Slf4j
+@Service
+public class EmailExistenceService {
+
+    private final class Emails {
+        final String collection;
+        final String field;
+        final CountingBloomFilter filter;
+        final Predicate<String> exists;
+        // Held across the Mongo check in remove, hence not a monitor
+        final ReentrantLock lock = new ReentrantLock();
+        // Deleted while loading: the scan may have read them just before the delete
+        final Set<String> removedWhileLoading = ConcurrentHashMap.newKeySet();
+
+        Emails(String collection, String field, CountingBloomFilter filter, Predicate<String> exists) {
+            this.collection = collection;
+            this.field = field;
+            this.filter = filter;
+            this.exists = exists;
+        }
+
+        void add(String email) {
+            lock.lock();
+            try {
+                filter.add(email);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String email) {
+            lock.lock();
+            try {
+                if (!exists.test(email)) {
+                    filter.remove(email);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long load() {
+            Query query = new Query();
+            query.fields().include(field).exclude("_id");
+            long count = 0;
+            try (Stream<Document> cursor = mongoTemplate.stream(query, Document.class, collection)) {
+                for (Document doc : (Iterable<Document>) cursor::iterator) {
+                    String email = doc.getString(field);
+                    if (email != null && filter.add(email)) {
+                        count++;
+                    }
+                }
+            }
+            // Scanning is over, so nothing can be added back after this
+            for (String email : removedWhileLoading) {
+                remove(email);
+            }
+            removedWhileLoading.clear();
+            return count;
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Emails userEmails;
+    private final Emails supplierEmails;
+
+    // Until the filters are loaded every lookup falls through to Mongo
+    private volatile boolean ready = false;
+
+    public EmailExistenceService(MongoTemplate mongoTemplate,
+                                 UsersRepo usersRepo,
+                                 SupplierRepository supplierRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${festivo.email-filter.expected-insertions:100000}") int expectedInsertions,
+                                 @Value("${festivo.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.userEmails = new Emails("users", "email",
+                new CountingBloomFilter(expectedInsertions, falsePositiveRate), usersRepo::existsByEmail);
+        this.supplierEmails = new Emails("suppliers", "supplierEmail",
+                new CountingBloomFilter(expectedInsertions, falsePositiveRate), supplierRepository::existsBySupplierEmail);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFilters() {
+        try {
+            long users = userEmails.load();
+            long suppliers = supplierEmails.load();
+            ready = true;
+            log.info("Email filter loaded with {} user and {} supplier emails", users, suppliers);
+        } catch (Exception e) {
+            log.warn("Email filter not loaded, falling back to Mongo lookups: {}", e.getMessage());
+        }
+    }
+
+    public boolean userEmailExists(String email) {
+        return exists(userEmails, "user", email);
+    }
+
+    public boolean supplierEmailExists(String email) {
+        return exists(supplierEmails, "supplier", email);
+    }
+
+    private boolean exists(Emails emails, String type, String email) {
+        if (email == null) {
+            return false;
+        }
+        if (ready && !emails.filter.mightContain(email)) {
+            count(type, "filtered");
+            return false;
+        }
+        boolean exists = emails.exists.test(email);
+        count(type, exists ? "confirmed" : ready ? "false_positive" : "not_loaded");
+        return exists;
+    }
+
+    public void userAdded(String email) {
+        added(userEmails, email);
+    }
+
+    /** Call after the row is deleted; the email stays if another row still has it. */
+    public void userRemoved(String email) {
+        removed(userEmails, email);
+    }
+
+    public void supplierAdded(String email) {
+        added(supplierEmails, email);
+    }
+
+    public void supplierRemoved(String email) {
+        removed(supplierEmails, email);
+    }
+
+    private void added(Emails emails, String email) {
+        if (email != null) {
+            emails.add(email);
+        }
+    }
+
+    private void removed(Emails emails, String email) {
+        if (email == null) {
+            return;
+        }
+        if (!ready) {
+            emails.removedWhileLoading.add(email);
+        }
+        emails.remove(email);
+    }
+
+    private void count(String type, String result) {
+        meterRegistry.counter("festivo.email.filter.lookups", "type", type, "result", result).increment();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.festivo.service.eventDetailService;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.observation.annotation.Observed;
+
+import com.example.festivo.dto.EventThemeDTO.EventThemeSummaryDTO;
+import com.example.festivo.dto.eventDetailDTO.EventDetailDTO;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.entity.userentity.Event;
+import com.example.festivo.repository.eventThemeRepository.EventThemRepository;
+import com.example.festivo.repository.supplierOrderReqRepository.SupplierOrderReqRepo;
+import com.example.festivo.repository.supplierPaymentRepository.SupplierPaymentRepository;
+import com.example.festivo.repository.userrepository.EventRepo;
+import com.example.festivo.service.archiveService.ArchiveService;
+
+/**
+ * Builds the event detail view in one request. After the event itself is
+ * loaded, the theme lookup and the order/payment chain run in parallel, so
+ * the response time is the event lookup plus the slower of the two branches.
+ * With history, orders and payments already moved to the archive are included.
+ */
+@Observed
+@Service
+public class EventDetailService {
+
+    private final EventRepo eventRepo;
+    private final EventThemRepository eventThemRepository;
+    private final SupplierOrderReqRepo supplierOrderReqRepo;
+    private final SupplierPaymentRepository supplierPaymentRepository;
+    private final ArchiveService archiveService;
+    private final Executor executor;
+
+    public EventDetailService(EventRepo eventRepo,
+                              EventThemRepository eventThemRepository,
+                              SupplierOrderReqRepo supplierOrderReqRepo,
+                              SupplierPaymentRepository supplierPaymentRepository,
+                              ArchiveService archiveService,
+                              @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.eventRepo = eventRepo;
+        this.eventThemRepository = eventThemRepository;
+        this.supplierOrderReqRepo = supplierOrderReqRepo;
+        this.supplierPaymentRepository = supplierPaymentRepository;
+        this.archiveService = archiveService;
+        this.executor = executor;
+    }
+
+    public EventDetailDTO getEventDetail(String eventId, boolean history) {
+        Event event = eventRepo.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found with ID: " + eventId));
+
+        // A theme's eventName is the event type it belongs to
+        CompletableFuture<EventThemeSummaryDTO> theme = event.getEventTheme() == null
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.supplyAsync(() -> event.getEventType() == null
+                        ? eventThemRepository.findFirstByThemeName(event.getEventTheme())
+                        : eventThemRepository.findFirstByThemeNameAndEventName(event.getEventTheme(),
+                                event.getEventType()), executor);
+
+        CompletableFuture<List<SupplierReq>> orders = CompletableFuture.supplyAsync(
+                () -> history
+                        ? archiveService.find(Query.query(Criteria.where("eventId").is(eventId)), SupplierReq.class, true)
+                        : supplierOrderReqRepo.findByEventId(eventId),
+                executor);
+
+        CompletableFuture<List<SupplierPaymentEntity>> payments = orders.thenApply(list -> {
+            if (list.isEmpty()) {
+                return List.of();
+            }
+            List<String> orderIds = list.stream().map(SupplierReq::getId).toList();
+            return history
+                    ? archiveService.find(Query.query(Criteria.where("orderRequestId").in(orderIds)),
+                            SupplierPaymentEntity.class, true)
+                    : supplierPaymentRepository.findByOrderRequestIdIn(orderIds);
+        });
+
+        try {
+            return new EventDetailDTO(event, theme.join(), orders.join(), payments.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
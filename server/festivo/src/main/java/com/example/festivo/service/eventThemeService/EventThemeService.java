@@ -2,22 +2,42 @@ package com.example.festivo.service.eventThemeService;
 
 import com.example.festivo.dto.EventThemeDTO.EventThemeRequestDTO;
 import com.example.festivo.dto.EventThemeDTO.EventThemeResponseDTO;
+import com.example.festivo.dto.EventThemeDTO.EventThemeSummaryDTO;
 import com.example.festivo.entity.eventEntity.EventTheme;
 import com.example.festivo.entity.eventEntity.ThemePackage;
 import com.example.festivo.entity.userentity.Event;
 import com.example.festivo.repository.eventThemeRepository.EventThemRepository;
 import com.example.festivo.repository.userrepository.EventRepo;
+import com.example.festivo.service.catalogService.CatalogCache;
+import com.example.festivo.service.coalescingService.RequestCoalescer;
+import com.example.festivo.service.rawBsonService.RawBsonStreamer;
+import com.example.festivo.service.resilienceService.MongoGuard;
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.mongodb.client.model.Filters;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.observation.annotation.Observed;
+
+@Slf4j
+@Observed
 @Service
 @AllArgsConstructor
 public class EventThemeService {
 
   private final EventThemRepository eventThemeRepository;
   private final EventRepo eventRepo;
+  private final RequestCoalescer requestCoalescer;
+  private final ResponseByteCache responseByteCache;
+  private final MongoGuard mongoGuard;
+  private final CatalogCache catalogCache;
+  private final RawBsonStreamer rawBsonStreamer;
 
   public EventThemeResponseDTO createEventTheme(EventThemeRequestDTO req) {
     EventTheme eventTheme = new EventTheme();
@@ -43,7 +63,9 @@ public class EventThemeService {
 
     eventTheme.setThemePackage(packages);
 
-    EventTheme saved = eventThemeRepository.save(eventTheme);
+    EventTheme saved = mongoGuard.write("EventThemeRepository.save", () -> eventThemeRepository.save(eventTheme));
+    catalogCache.put(saved);
+    responseByteCache.invalidate(ResponseByteCache.EVENT_THEMES);
 
     if (saved.getId() == null) return new EventThemeResponseDTO(
       null,
@@ -54,18 +76,63 @@ public class EventThemeService {
   }
 
   public List<EventTheme> getAllEventThemes() {
-    return eventThemeRepository.findAll();
+    if (catalogCache.isWarm()) {
+      return catalogCache.getThemes();
+    }
+    return requestCoalescer.execute("EventThemeRepository.findAll",
+      () -> mongoGuard.read("EventThemeRepository.findAll", eventThemeRepository::findAll));
+  }
+
+  /**
+   * Full theme list for the response cache. A cold catalog streams it from
+   * Mongo as raw BSON instead of mapping every theme to an entity first.
+   */
+  public void writeAllEventThemes(JsonGenerator generator) throws IOException {
+    if (catalogCache.isWarm()) {
+      generator.writeObject(catalogCache.getThemes());
+      return;
+    }
+    mongoGuard.readThrough("EventThemeRepository.findAll", () -> {
+      try {
+        rawBsonStreamer.write(EventTheme.class, Filters.empty(), generator);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  public List<EventThemeSummaryDTO> getAllEventThemeSummaries() {
+    if (catalogCache.isWarm()) {
+      return catalogCache.getThemes().stream().map(EventThemeSummaryDTO::from).toList();
+    }
+    return requestCoalescer.execute("EventThemeRepository.findAllProjectedBy",
+      () -> mongoGuard.read("EventThemeRepository.findAllProjectedBy", eventThemeRepository::findAllProjectedBy));
+  }
+
+  public List<EventThemeSummaryDTO> getThemeSummariesByEvent(String event) {
+    if (catalogCache.isWarm()) {
+      return catalogCache.getThemesByEvent(event).stream().map(EventThemeSummaryDTO::from).toList();
+    }
+    return requestCoalescer.execute("EventThemeRepository.findSummaryByEventName",
+      () -> mongoGuard.read("EventThemeRepository.findSummaryByEventName",
+        () -> eventThemeRepository.findSummaryByEventName(event), event), event);
   }
 
   public List<EventTheme> getThemeByEvent(String event) {
-    return eventThemeRepository.findByEventName(event);
+    if (catalogCache.isWarm()) {
+      return catalogCache.getThemesByEvent(event);
+    }
+    return requestCoalescer.execute("EventThemeRepository.findByEventName",
+      () -> mongoGuard.read("EventThemeRepository.findByEventName",
+        () -> eventThemeRepository.findByEventName(event), event), event);
   }
 
   public EventThemeResponseDTO updateEventTheme(
     String id,
     EventThemeRequestDTO req
   ) {
-    Optional<EventTheme> optionalEventTheme = eventThemeRepository.findById(id);
+    Optional<EventTheme> optionalEventTheme = mongoGuard.readThrough("EventThemeRepository.findById",
+      () -> eventThemeRepository.findById(id));
 
     if (optionalEventTheme.isEmpty()) {
       return new EventThemeResponseDTO(null, "Event Theme not found");
@@ -94,17 +161,20 @@ public class EventThemeService {
 
     eventTheme.setThemePackage(packages);
 
-    EventTheme updated = eventThemeRepository.save(eventTheme);
+    EventTheme updated = mongoGuard.write("EventThemeRepository.save", () -> eventThemeRepository.save(eventTheme));
+    catalogCache.put(updated);
+    responseByteCache.invalidate(ResponseByteCache.EVENT_THEMES);
 
     return new EventThemeResponseDTO("Event Updated Successfully" + updated, null);
   }
 
   public String deleteEventTheme(String id, String eventName) {
-    Optional<EventTheme> optionalEventTheme = eventThemeRepository.findById(id);
+    Optional<EventTheme> optionalEventTheme = mongoGuard.readThrough("EventThemeRepository.findById",
+      () -> eventThemeRepository.findById(id));
     if (optionalEventTheme.isEmpty()) {
       return "Not Found";
     }
-    System.out.println("theme " + eventName);
+    log.debug("Deleting theme {} for event {}", id, eventName);
 
     EventTheme eventTheme = optionalEventTheme.get();
     Event event = eventRepo.findByEventTheme(eventTheme.getThemeName());
@@ -114,7 +184,9 @@ public class EventThemeService {
       return "Can not Delete This Event Theme";
     }
 
-    eventThemeRepository.deleteById(id);
+    mongoGuard.write("EventThemeRepository.deleteById", () -> eventThemeRepository.deleteById(id));
+    catalogCache.removeTheme(id);
+    responseByteCache.invalidate(ResponseByteCache.EVENT_THEMES);
     return "OK";
   }
 }
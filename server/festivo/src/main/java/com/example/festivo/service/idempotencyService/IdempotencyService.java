@@ -0,0 +1,145 @@
+package com.example.festivo.service.idempotencyService;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.entity.idempotencyEntity.IdempotencyRecord;
+import com.example.festivo.repository.idempotencyRepository.IdempotencyRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers the response of each completed Idempotency-Key request. Recent
+ * keys live in a bounded LRU map; the Mongo copy lets other instances and
+ * restarts see them until the TTL index removes the document.
+ *
+ * A key is claimed by inserting a pending document under it, so two nodes
+ * racing on the same key are decided by the unique {@code _id}.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRepo idempotencyRepo;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Map<String, IdempotencyRecord> recent;
+
+    public IdempotencyService(IdempotencyRepo idempotencyRepo,
+                              MongoTemplate mongoTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${festivo.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${festivo.idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${festivo.idempotency.lease:5m}") Duration lease) {
+        this.idempotencyRepo = idempotencyRepo;
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        meterRegistry.gauge("festivo.idempotency.cache.size", recent, Map::size);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTtlIndex() {
+        try {
+            mongoTemplate.indexOps(IdempotencyRecord.class)
+                    .ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(ttl));
+        } catch (Exception e) {
+            log.warn("Could not create TTL index on idempotencyKeys: {}", e.getMessage());
+        }
+    }
+
+    public Optional<IdempotencyRecord> find(String key) {
+        IdempotencyRecord cached;
+        synchronized (recent) {
+            cached = recent.get(key);
+        }
+        if (cached != null && !isExpired(cached)) {
+            countLookup("memory");
+            return Optional.of(cached);
+        }
+
+        Optional<IdempotencyRecord> stored = idempotencyRepo.findById(key)
+                .filter(r -> !r.isPending() && !isExpired(r));
+        stored.ifPresent(this::remember);
+        countLookup(stored.isPresent() ? "mongo" : "miss");
+        return stored;
+    }
+
+    /**
+     * Claims the key for the current request, on any node. A claim older
+     * than the lease is taken over, since its node most likely died.
+     * @return false if another request with the same key is still running
+     */
+    public boolean begin(String key, String requestHash) {
+        Date now = new Date();
+        try {
+            mongoTemplate.insert(new IdempotencyRecord(key, requestHash, 0, null, null, now, true));
+            return true;
+        } catch (DuplicateKeyException e) {
+            Query stale = new Query(Criteria.where("_id").is(key).and("pending").is(true)
+                    .and("createdAt").lt(Date.from(now.toInstant().minus(lease))));
+            return mongoTemplate.updateFirst(stale, new Update().set("createdAt", now).set("requestHash", requestHash),
+                    IdempotencyRecord.class).getModifiedCount() == 1;
+        }
+    }
+
+    public void complete(String key, String requestHash, int statusCode, String contentType, byte[] responseBody) {
+        IdempotencyRecord record = new IdempotencyRecord(key, requestHash, statusCode, contentType, responseBody,
+                new Date(), false);
+        idempotencyRepo.save(record);
+        remember(record);
+    }
+
+    /** Drops our claim so the client can retry; a completed record is left alone. */
+    public void abandon(String key) {
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(key).and("pending").is(true)),
+                    IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency key {}, it frees up after {}: {}", key, lease, e.getMessage());
+        }
+    }
+
+    private void countLookup(String result) {
+        meterRegistry.counter("festivo.idempotency.lookups", "result", result).increment();
+    }
+
+    private void remember(IdempotencyRecord record) {
+        synchronized (recent) {
+            recent.put(record.getId(), record);
+        }
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getCreatedAt() == null
+                || record.getCreatedAt().toInstant().plus(ttl).isBefore(new Date().toInstant());
+    }
+}
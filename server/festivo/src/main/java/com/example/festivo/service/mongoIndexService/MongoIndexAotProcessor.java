@@ -0,0 +1,30 @@
+package com.example.festivo.service.mongoIndexService;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+
+/**
+ * Resolves the entity indexes during process-aot and ships them as a
+ * resource, registered through META-INF/spring/aot.factories.
+ */
+public class MongoIndexAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        if (!AutoConfigurationPackages.has(beanFactory)) {
+            return null;
+        }
+        List<Document> indexes = MongoIndexCatalog.scan(AutoConfigurationPackages.get(beanFactory),
+                beanFactory.getBeanClassLoader());
+        String json = MongoIndexCatalog.toJson(indexes);
+        return (generationContext, code) -> {
+            generationContext.getGeneratedFiles().addResourceFile(MongoIndexCatalog.RESOURCE, json);
+            generationContext.getRuntimeHints().resources().registerPattern(MongoIndexCatalog.RESOURCE);
+        };
+    }
+}
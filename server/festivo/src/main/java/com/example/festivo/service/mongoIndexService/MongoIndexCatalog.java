@@ -0,0 +1,89 @@
+package com.example.festivo.service.mongoIndexService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.util.ClassUtils;
+
+/**
+ * The index definitions declared on the @Document entities, as plain
+ * collection / keys / options documents. The AOT build writes them to
+ * {@link #RESOURCE} so a started instance reads a small JSON file instead of
+ * walking every entity's mapping metadata.
+ */
+public final class MongoIndexCatalog {
+
+    public static final String RESOURCE = "META-INF/festivo/mongo-indexes.json";
+
+    private MongoIndexCatalog() {
+    }
+
+    public static List<Document> resolve(MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext,
+                                         Collection<Class<?>> types) {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List<Document> indexes = new ArrayList<>();
+        for (Class<?> type : types) {
+            String collection = mappingContext.getRequiredPersistentEntity(type).getCollection();
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                // @Indexed on the id resolves to {_id: 1}, which every collection already has
+                if (index.getIndexKeys().keySet().equals(Set.of("_id"))) {
+                    continue;
+                }
+                indexes.add(new Document("collection", collection)
+                        .append("keys", index.getIndexKeys())
+                        .append("options", index.getIndexOptions()));
+            }
+        }
+        return indexes;
+    }
+
+    // Build-time entry point: finds the entities by scanning, with no running context
+    public static List<Document> scan(Collection<String> basePackages, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(org.springframework.data.mongodb.core.mapping.Document.class));
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (String basePackage : basePackages) {
+            scanner.findCandidateComponents(basePackage).forEach(candidate ->
+                    types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader)));
+        }
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        // Same simple types as the runtime context, so BigDecimal, Date etc. are not mapped as entities
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mappingContext.setInitialEntitySet(types);
+        mappingContext.afterPropertiesSet();
+        return resolve(mappingContext, types);
+    }
+
+    public static String toJson(List<Document> indexes) {
+        return new Document("indexes", indexes).toJson();
+    }
+
+    /**
+     * The catalog written at build time, or null when running without AOT.
+     */
+    public static List<Document> load(ClassLoader classLoader) throws IOException {
+        try (InputStream in = classLoader.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                return null;
+            }
+            return Document.parse(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .getList("indexes", Document.class);
+        }
+    }
+}
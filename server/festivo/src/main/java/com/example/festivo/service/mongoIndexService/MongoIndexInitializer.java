@@ -0,0 +1,81 @@
+package com.example.festivo.service.mongoIndexService;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the indexes declared on the entities once the app is serving.
+ * Uses the catalog resolved at build time when there is one, and resolves it
+ * from the mapping context otherwise.
+ */
+@Slf4j
+@Service
+public class MongoIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final boolean enabled;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 MongoMappingContext mappingContext,
+                                 @Value("${festivo.mongo.ensure-indexes:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.enabled = enabled;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!enabled) {
+            return;
+        }
+        List<Document> indexes;
+        try {
+            indexes = MongoIndexCatalog.load(getClass().getClassLoader());
+            if (indexes == null) {
+                indexes = MongoIndexCatalog.resolve(mappingContext, mappingContext.getPersistentEntities().stream()
+                        .filter(entity -> entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class))
+                        .<Class<?>>map(MongoPersistentEntity::getType)
+                        .toList());
+            }
+        } catch (Exception e) {
+            log.warn("Could not read the index catalog: {}", e.getMessage());
+            return;
+        }
+
+        for (Document index : indexes) {
+            String collection = index.getString("collection");
+            Document keys = index.get("keys", Document.class);
+            Document options = index.get("options", Document.class);
+            try {
+                mongoTemplate.indexOps(collection).ensureIndex(new IndexDefinition() {
+                    @Override
+                    public Document getIndexKeys() {
+                        return keys;
+                    }
+
+                    @Override
+                    public Document getIndexOptions() {
+                        return options;
+                    }
+                });
+            } catch (Exception e) {
+                // Most likely duplicates in existing data for a unique index; the others still get created
+                log.warn("Could not create index {} on {}: {}", keys.toJson(), collection, e.getMessage());
+            }
+        }
+    }
+}
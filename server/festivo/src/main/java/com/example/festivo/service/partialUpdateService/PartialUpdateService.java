@@ -0,0 +1,193 @@
+package com.example.festivo.service.partialUpdateService;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.festivo.service.resilienceService.MongoGuard;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+
+/**
+ * Applies a partial update as one findOneAndUpdate with $set / $unset, instead
+ * of findById followed by a full-document save. Only the named fields travel
+ * to Mongo, and concurrent writers to other fields no longer overwrite each
+ * other.
+ *
+ * Changes follow JSON merge-patch: a field present in the body is set, a null
+ * value removes it, anything else is left alone. Fields outside the caller's
+ * writable set are rejected with 400. When the entity has a
+ * {@code @LastModifiedDate} property, its epoch millis act as the version:
+ * pass it back as If-Match and the update only applies if nobody wrote in
+ * between (412 otherwise).
+ */
+@Service
+public class PartialUpdateService {
+
+    /** Pre- and post-image of the patched document, from a single round trip. */
+    public record Patched<T>(T before, T after, Long version) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final MongoGuard mongoGuard;
+
+    public PartialUpdateService(MongoTemplate mongoTemplate, ObjectMapper objectMapper, MongoGuard mongoGuard) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.mongoGuard = mongoGuard;
+    }
+
+    public <T> Patched<T> patch(Class<T> type, String id, Map<String, ?> changes, Set<String> writable,
+                                Long expectedVersion) {
+        MongoPersistentEntity<?> entity = entity(type);
+        MongoPersistentProperty idProperty = entity.getRequiredIdProperty();
+        return apply(type, entity, idProperty, converter().convertId(id, idProperty.getFieldType()),
+                changes, writable, expectedVersion);
+    }
+
+    /** Same as {@link #patch}, for documents addressed by another unique property (e.g. an email). */
+    public <T> Patched<T> patchBy(Class<T> type, String keyProperty, Object key, Map<String, ?> changes,
+                                  Set<String> writable, Long expectedVersion) {
+        MongoPersistentEntity<?> entity = entity(type);
+        return apply(type, entity, entity.getRequiredPersistentProperty(keyProperty),
+                converter().convertToMongoType(key), changes, writable, expectedVersion);
+    }
+
+    /**
+     * The writable properties of a full request object, nulls included, so a
+     * PUT can go through the same single-update path as a PATCH.
+     */
+    public Map<String, Object> fields(Object source, Set<String> writable) {
+        Map<String, Object> all = objectMapper.convertValue(source, objectMapper.getTypeFactory()
+                .constructMapType(LinkedHashMap.class, String.class, Object.class));
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (String name : writable) {
+            fields.put(name, all.get(name));
+        }
+        return fields;
+    }
+
+    /** Reads an If-Match header written by {@link #etag}; null when absent. */
+    public static Long version(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed If-Match: " + ifMatch);
+        }
+    }
+
+    public static String etag(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    private <T> Patched<T> apply(Class<T> type, MongoPersistentEntity<?> entity, MongoPersistentProperty keyProperty,
+                                 Object key, Map<String, ?> changes, Set<String> writable, Long expectedVersion) {
+        Document set = new Document();
+        Document unset = new Document();
+        for (Map.Entry<String, ?> change : changes.entrySet()) {
+            MongoPersistentProperty property = writable.contains(change.getKey())
+                    ? entity.getPersistentProperty(change.getKey())
+                    : null;
+            if (property == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Field '" + change.getKey() + "' cannot be updated");
+            }
+            if (change.getValue() == null) {
+                unset.append(property.getFieldName(), "");
+            } else {
+                set.append(property.getFieldName(), toMongo(property, change.getValue()));
+            }
+        }
+        if (set.isEmpty() && unset.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nothing to update");
+        }
+
+        MongoPersistentProperty versionProperty = entity.getPersistentProperty(LastModifiedDate.class);
+        if (expectedVersion != null && versionProperty == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    type.getSimpleName() + " does not support If-Match");
+        }
+        Date now = new Date();
+        if (versionProperty != null) {
+            // Auditing only runs on save(), so the update has to stamp it itself
+            set.append(versionProperty.getFieldName(), now);
+        }
+
+        Document keyFilter = new Document(keyProperty.getFieldName(), key);
+        Document filter = new Document(keyFilter);
+        if (expectedVersion != null) {
+            filter.append(versionProperty.getFieldName(), new Date(expectedVersion));
+        }
+        Document update = new Document();
+        if (!set.isEmpty()) {
+            update.append("$set", set);
+        }
+        if (!unset.isEmpty()) {
+            update.append("$unset", unset);
+        }
+
+        String collection = mongoTemplate.getCollectionName(type);
+        Document before = mongoGuard.write(type.getSimpleName() + ".patch",
+                () -> mongoTemplate.getCollection(collection).findOneAndUpdate(filter, update,
+                        new FindOneAndUpdateOptions().returnDocument(ReturnDocument.BEFORE)));
+        if (before == null) {
+            // Only a failed precondition pays for the second query, to tell 412 from 404
+            if (expectedVersion != null && mongoGuard.write(type.getSimpleName() + ".exists",
+                    () -> mongoTemplate.getCollection(collection).countDocuments(keyFilter) > 0)) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                        type.getSimpleName() + " was modified by someone else");
+            }
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, type.getSimpleName() + " not found: " + key);
+        }
+
+        Document after = new Document(before);
+        after.putAll(set);
+        unset.keySet().forEach(after::remove);
+        return new Patched<>(converter().read(type, before), converter().read(type, after),
+                versionProperty == null ? null : now.getTime());
+    }
+
+    private Object toMongo(MongoPersistentProperty property, Object value) {
+        // JSON gives us maps, lists, strings and numbers; bind to the Java type first, then let the converter map it
+        JavaType javaType = objectMapper.getTypeFactory().constructType(property.getField() != null
+                ? property.getField().getGenericType()
+                : property.getType());
+        Object typed;
+        try {
+            typed = objectMapper.convertValue(value, javaType);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid value for '" + property.getName() + "'", e);
+        }
+        return converter().convertToMongoType(typed, property.getTypeInformation());
+    }
+
+    private MongoPersistentEntity<?> entity(Class<?> type) {
+        return mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+    }
+
+    private MongoConverter converter() {
+        return mongoTemplate.getConverter();
+    }
+}
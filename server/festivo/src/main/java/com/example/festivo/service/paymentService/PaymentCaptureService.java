@@ -0,0 +1,224 @@
+package com.example.festivo.service.paymentService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.observation.annotation.Observed;
+
+import com.example.festivo.entity.paymententity.Payment;
+import com.example.festivo.repository.paymentrepository.PaymentRepo;
+import com.example.festivo.service.rollupService.RollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Captures checkout payments. In "sync" mode payments are saved straight to
+ * Mongo. In "async" mode they are appended to a local journal, acknowledged
+ * once the journal is fsynced, and written to Mongo in batches by a
+ * background drain. The payment id doubles as the receipt id, so replaying
+ * the journal after a crash upserts instead of duplicating.
+ */
+@Slf4j
+@Observed
+@Service
+public class PaymentCaptureService {
+
+    /** A journaled payment; the drain only writes it once its fsync has been confirmed. */
+    private static final class Pending {
+        final Payment payment;
+        final long endOffset;
+        volatile boolean confirmed;
+        volatile boolean failed;
+
+        Pending(Payment payment, long endOffset) {
+            this.payment = payment;
+            this.endOffset = endOffset;
+        }
+    }
+
+    private static final List<String> SENSITIVE_FIELDS = List.of("cardNumber", "cvv");
+
+    private final PaymentRepo paymentRepo;
+    private final RollupService rollupService;
+    private final ObjectMapper objectMapper;
+    private final boolean async;
+    private final Path journalDir;
+    private final long compactThreshold;
+    private final int batchSize;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    // The scheduled drain and the shutdown drain must not take the same entries
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final Map<String, Payment> pendingById = new ConcurrentHashMap<>();
+    private PaymentJournal journal;
+
+    public PaymentCaptureService(PaymentRepo paymentRepo,
+                                 RollupService rollupService,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${festivo.payment-capture.mode:sync}") String mode,
+                                 @Value("${festivo.payment-capture.journal-dir:journal}") String journalDir,
+                                 @Value("${festivo.payment-capture.compact-threshold-bytes:67108864}") long compactThreshold,
+                                 @Value("${festivo.payment-capture.batch-size:500}") int batchSize) {
+        this.paymentRepo = paymentRepo;
+        this.rollupService = rollupService;
+        this.objectMapper = objectMapper;
+        this.async = "async".equalsIgnoreCase(mode);
+        this.journalDir = Path.of(journalDir);
+        this.compactThreshold = compactThreshold;
+        this.batchSize = batchSize;
+        meterRegistry.gauge("festivo.payment.journal.pending", pendingById, Map::size);
+    }
+
+    @PostConstruct
+    public void openJournal() throws IOException {
+        if (!async) {
+            return;
+        }
+        journal = new PaymentJournal(journalDir, compactThreshold);
+        for (PaymentJournal.Entry entry : journal.readUnflushed()) {
+            Payment payment = objectMapper.readValue(entry.payload(), Payment.class);
+            pendingById.put(payment.getId(), payment);
+            Pending pending = new Pending(payment, entry.endOffset());
+            pending.confirmed = true;
+            queue.add(pending);
+        }
+        if (!queue.isEmpty()) {
+            log.info("Replaying {} journaled payments not yet written to Mongo", queue.size());
+        }
+    }
+
+    public Payment capture(Payment payment) {
+        if (!async) {
+            Payment saved = paymentRepo.save(payment);
+            recordRollup(saved);
+            return saved;
+        }
+
+        payment.setId(new ObjectId().toHexString());
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(journalRecord(payment));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal payment", e);
+        }
+        // Queued in offset order, but the drain leaves it alone until the fsync is confirmed
+        Pending[] pending = new Pending[1];
+        try {
+            long offset = journal.append(payload, end -> {
+                pending[0] = new Pending(payment, end);
+                queue.add(pending[0]);
+            });
+            journal.awaitDurable(offset);
+        } catch (IOException e) {
+            // The client is told it failed, so it must not reach Mongo behind its back
+            if (pending[0] != null) {
+                pending[0].failed = true;
+            }
+            throw new UncheckedIOException("Could not journal payment", e);
+        }
+        pendingById.put(payment.getId(), payment);
+        pending[0].confirmed = true;
+        recordRollup(payment);
+        return payment;
+    }
+
+    /**
+     * Payments that are acknowledged but not yet in Mongo, so a lookup right
+     * after checkout still finds the receipt.
+     */
+    public Optional<Payment> findPending(String id) {
+        return Optional.ofNullable(pendingById.get(id));
+    }
+
+    @Scheduled(fixedDelayString = "${festivo.payment-capture.drain-interval-ms:200}")
+    public void drain() {
+        if (!async) {
+            return;
+        }
+        drainLock.lock();
+        try {
+            drainLocked();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void drainLocked() {
+        while (true) {
+            // A prefix of settled entries: a capture still waiting for its fsync ends the batch
+            List<Pending> batch = new ArrayList<>(batchSize);
+            Iterator<Pending> it = queue.iterator();
+            while (it.hasNext() && batch.size() < batchSize) {
+                Pending next = it.next();
+                if (!next.confirmed && !next.failed) {
+                    break;
+                }
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                List<Payment> payments = batch.stream().filter(p -> !p.failed).map(p -> p.payment).toList();
+                if (!payments.isEmpty()) {
+                    paymentRepo.saveAll(payments);
+                }
+                journal.checkpoint(batch.get(batch.size() - 1).endOffset);
+            } catch (Exception e) {
+                log.warn("Payment journal drain failed, will retry: {}", e.getMessage());
+                return;
+            }
+
+            for (Pending pending : batch) {
+                queue.poll();
+                pendingById.remove(pending.payment.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeJournal() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        drain();
+        journal.close();
+    }
+
+    /**
+     * The payment as journaled: without the card number and CVV, which must
+     * not sit in plaintext on local disk. The in-memory copy still carries
+     * them to Mongo; a payment replayed after a crash arrives without them.
+     */
+    private ObjectNode journalRecord(Payment payment) {
+        ObjectNode record = objectMapper.valueToTree(payment);
+        record.remove(SENSITIVE_FIELDS);
+        return record;
+    }
+
+    private void recordRollup(Payment payment) {
+        double amount = payment.getAmount() == null ? 0 : payment.getAmount();
+        rollupService.record(RollupService.PAYMENT_CARD_TYPE, payment.getCardType(), amount);
+    }
+}
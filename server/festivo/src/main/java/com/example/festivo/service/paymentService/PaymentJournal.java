@@ -0,0 +1,203 @@
+package com.example.festivo.service.paymentService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local journal of captured payments. Each record is
+ * [length][crc32][payload]; a separate checkpoint file holds the offset up
+ * to which records have been written to Mongo.
+ *
+ * Appends are made durable with group commit: the first caller to reach
+ * {@link #awaitDurable(long)} forces the file, and every append written
+ * before that force is covered by the same fsync. Locks are ReentrantLocks
+ * rather than monitors because they are held across file I/O, which would
+ * pin the carrier thread when running on virtual threads.
+ */
+public class PaymentJournal implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 8;
+
+    public record Entry(long endOffset, byte[] payload) {
+    }
+
+    private final FileChannel channel;
+    private final Path checkpointFile;
+    private final long compactThreshold;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+
+    private long writtenOffset;
+    private volatile long durableOffset;
+    private long checkpointOffset;
+
+    public PaymentJournal(Path directory, long compactThreshold) throws IOException {
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve("payments.journal"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.checkpointFile = directory.resolve("payments.checkpoint");
+        this.compactThreshold = compactThreshold;
+        this.writtenOffset = channel.size();
+        this.durableOffset = writtenOffset;
+        long checkpoint = readCheckpoint();
+        if (checkpoint > writtenOffset) {
+            // A crash between truncating and recording the checkpoint; everything left is unflushed
+            checkpoint = 0;
+            writeCheckpoint(0);
+        }
+        this.checkpointOffset = checkpoint;
+    }
+
+    /**
+     * Reads every record after the checkpoint. A torn record at the tail
+     * (crash during append) is cut off so new appends start from a clean end.
+     */
+    public List<Entry> readUnflushed() throws IOException {
+        appendLock.lock();
+        try {
+            return readUnflushedLocked();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private List<Entry> readUnflushedLocked() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long position = Math.min(checkpointOffset, writtenOffset);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+
+        while (position + HEADER_BYTES <= writtenOffset) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length < 0 || position + HEADER_BYTES + length > writtenOffset) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, position + HEADER_BYTES);
+            if (crc32(payload.array()) != crc) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+            entries.add(new Entry(position, payload.array()));
+        }
+
+        if (position < writtenOffset) {
+            channel.truncate(position);
+            writtenOffset = position;
+            durableOffset = position;
+        }
+        return entries;
+    }
+
+    /**
+     * Appends a record and hands its end offset to {@code onAppended} while
+     * still holding the append lock, so callers observe offsets in order.
+     */
+    public long append(byte[] payload, LongConsumer onAppended) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length).putInt(crc32(payload)).put(payload).flip();
+        appendLock.lock();
+        try {
+            long position = writtenOffset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            writtenOffset = position;
+            onAppended.accept(position);
+            return position;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public void awaitDurable(long offset) throws IOException {
+        if (durableOffset >= offset) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            if (durableOffset >= offset) {
+                return;
+            }
+            long target;
+            appendLock.lock();
+            try {
+                target = writtenOffset;
+            } finally {
+                appendLock.unlock();
+            }
+            channel.force(false);
+            durableOffset = target;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Records that everything up to {@code offset} is stored in Mongo. Once
+     * the whole journal is flushed and it has grown past the threshold it is
+     * truncated back to empty.
+     */
+    public void checkpoint(long offset) throws IOException {
+        // Taken first, as in awaitDurable: a force in flight would otherwise set
+        // durableOffset to a pre-truncation offset and later appends would skip their fsync
+        forceLock.lock();
+        appendLock.lock();
+        try {
+            checkpointOffset = offset;
+            if (offset == writtenOffset && writtenOffset >= compactThreshold) {
+                channel.truncate(0);
+                channel.force(false);
+                writtenOffset = 0;
+                durableOffset = 0;
+                checkpointOffset = 0;
+            }
+            writeCheckpoint(checkpointOffset);
+        } finally {
+            appendLock.unlock();
+            forceLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(checkpointFile);
+        return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0;
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        Path tmp = checkpointFile.resolveSibling("payments.checkpoint.tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.allocate(Long.BYTES).putLong(offset).flip());
+            out.force(false);
+        }
+        Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int crc32(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.festivo.service.rateLimitService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Concurrency limit that tightens as Mongo slows down. While the average
+ * command latency is under the target, up to max-concurrency requests run at
+ * once; above it the limit shrinks in proportion, down to min-concurrency.
+ */
+@Service
+public class LoadShedder {
+
+    private final MongoLatencyTracker latencyTracker;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxConcurrency;
+    private final int minConcurrency;
+    private final double targetLatencyMs;
+
+    public LoadShedder(MongoLatencyTracker latencyTracker,
+                       @Value("${festivo.load-shed.max-concurrency:200}") int maxConcurrency,
+                       @Value("${festivo.load-shed.min-concurrency:10}") int minConcurrency,
+                       @Value("${festivo.load-shed.target-latency-ms:50}") double targetLatencyMs,
+                       MeterRegistry meterRegistry) {
+        this.latencyTracker = latencyTracker;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrency = maxConcurrency;
+        this.minConcurrency = minConcurrency;
+        this.targetLatencyMs = targetLatencyMs;
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        meterRegistry.gauge("festivo.load_shed.in_flight", inFlight);
+        meterRegistry.gauge("festivo.load_shed.limit", this, LoadShedder::currentLimit);
+        meterRegistry.gauge("festivo.load_shed.mongo_latency_ms", latencyTracker, MongoLatencyTracker::getAverageMillis);
+    }
+
+    /**
+     * Claims a slot; every successful call must be paired with {@link #exit()}.
+     */
+    public boolean tryEnter() {
+        int limit = currentLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    int currentLimit() {
+        double latency = latencyTracker.getAverageMillis();
+        if (latency <= targetLatencyMs) {
+            return maxConcurrency;
+        }
+        return Math.max(minConcurrency, (int) (maxConcurrency * targetLatencyMs / latency));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.festivo.service.rateLimitService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Exponentially weighted moving average of Mongo command latency, fed by the
+ * driver. Heartbeats and handshakes do not go through command listeners.
+ */
+@Component
+public class MongoLatencyTracker implements CommandListener {
+
+    private static final double ALPHA = 0.05;
+
+    // Double bits, updated with compare-and-set
+    private final AtomicLong averageMicros = new AtomicLong(Double.doubleToLongBits(0));
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getElapsedTime(TimeUnit.MICROSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getElapsedTime(TimeUnit.MICROSECONDS));
+    }
+
+    private void record(long micros) {
+        averageMicros.getAndUpdate(bits -> {
+            double average = Double.longBitsToDouble(bits);
+            double next = average == 0 ? micros : average + ALPHA * (micros - average);
+            return Double.doubleToLongBits(next);
+        });
+    }
+
+    public double getAverageMillis() {
+        return Double.longBitsToDouble(averageMicros.get()) / 1000;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.festivo.service.rateLimitService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-client token buckets. Buckets that have refilled completely are
+ * dropped by a periodic sweep; if the map still reaches the client limit,
+ * new clients share one overflow bucket rather than growing it further.
+ */
+@Service
+public class RateLimiter {
+
+    private static final String OVERFLOW = "*";
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final double capacity;
+    private final double tokensPerSecond;
+    private final int maxClients;
+
+    public RateLimiter(@Value("${festivo.rate-limit.capacity:100}") double capacity,
+                       @Value("${festivo.rate-limit.tokens-per-second:20}") double tokensPerSecond,
+                       @Value("${festivo.rate-limit.max-clients:100000}") int maxClients,
+                       MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+        this.maxClients = maxClients;
+        meterRegistry.gaugeMapSize("festivo.rate_limit.buckets", List.of(), buckets);
+    }
+
+    /**
+     * @return 0 if the request may proceed, otherwise the nanoseconds the
+     *         client should wait before retrying
+     */
+    public long tryAcquire(String client, double cost) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(client);
+        if (bucket == null) {
+            String key = buckets.size() < maxClients ? client : OVERFLOW;
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, tokensPerSecond, now));
+        }
+        return bucket.tryConsume(cost, now);
+    }
+
+    @Scheduled(fixedDelayString = "${festivo.rate-limit.sweep-interval-ms:10000}")
+    public void evictFullBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+}
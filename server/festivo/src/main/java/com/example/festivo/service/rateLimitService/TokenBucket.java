@@ -0,0 +1,50 @@
+package com.example.festivo.service.rateLimitService;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket updated with compare-and-set on an immutable snapshot, so
+ * concurrent requests from one client never block each other.
+ */
+class TokenBucket {
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(double capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * @return 0 if {@code cost} tokens were taken, otherwise the nanoseconds
+     *         until enough tokens will have been refilled
+     */
+    long tryConsume(double cost, long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = available(current, nowNanos);
+            if (tokens < cost) {
+                return (long) Math.ceil((cost - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - cost, Math.max(nowNanos, current.refilledAtNanos())))) {
+                return 0;
+            }
+        }
+    }
+
+    // A full bucket behaves exactly like a missing one, so it can be dropped
+    boolean isFull(long nowNanos) {
+        return available(state.get(), nowNanos) >= capacity;
+    }
+
+    private double available(State current, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.refilledAtNanos());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.festivo.service.rawBsonService;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Streams query results from Mongo to JSON, CBOR or Smile without building
+ * entities. Each result stays a {@link RawBsonDocument} (the bytes off the
+ * wire) and is walked with a BsonReader, so every value becomes one
+ * generator call.
+ *
+ * The output matches what Jackson would write for the mapped entity:
+ * - Mongo field names are renamed to property names (_id becomes id).
+ * - ObjectIds are written as hex strings.
+ * - BigDecimals stored as strings are written as numbers.
+ * - Dates use the ObjectMapper's date settings.
+ * - Properties missing from a document are written as null.
+ *
+ * The query only projects mapped fields, so _class and anything unmapped
+ * never leave the server.
+ */
+@Service
+public class RawBsonStreamer {
+
+    // One mapped property: its JSON name, position, and how to read nested documents
+    private record Field(String jsonName, int index, boolean numericString, Class<?> type, Shape nested) {
+    }
+
+    private record Shape(Map<String, Field> byMongoName, List<Field> fields) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final Map<Class<?>, Shape> shapes = new ConcurrentHashMap<>();
+
+    public RawBsonStreamer(MongoTemplate mongoTemplate,
+                           ObjectMapper objectMapper,
+                           MappingJackson2CborHttpMessageConverter cborConverter,
+                           MappingJackson2SmileHttpMessageConverter smileConverter) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.smileMapper = smileConverter.getObjectMapper();
+    }
+
+    /**
+     * Writes the matching documents of {@code type}'s collection to the
+     * response as an array, in the format the Accept header asks for.
+     */
+    public void write(Class<?> type, Bson filter, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        write(type, filter, List.of(mongoTemplate.getCollectionName(type)), request, response);
+    }
+
+    /**
+     * Same, reading each of {@code collections} in turn into one array, e.g.
+     * a hot collection followed by its archive.
+     */
+    public void write(Class<?> type, Bson filter, List<String> collections, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        MediaType format = ResponseByteCache.negotiateFormat(request.getHeader(HttpHeaders.ACCEPT));
+        if (format == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_ACCEPTABLE);
+            return;
+        }
+        ObjectMapper mapper = format.equals(MediaType.APPLICATION_CBOR) ? cborMapper
+                : format.equals(ResponseByteCache.SMILE) ? smileMapper
+                : objectMapper;
+        response.setContentType(format.toString());
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            write(type, filter, collections, generator, dateFormat(mapper));
+        }
+    }
+
+    /** Writes the matching documents as one array to a generator the caller owns. */
+    public void write(Class<?> type, Bson filter, JsonGenerator generator) throws IOException {
+        write(type, filter, List.of(mongoTemplate.getCollectionName(type)), generator, dateFormat(objectMapper));
+    }
+
+    /** Writes documents that were already fetched, e.g. from another query, as one array. */
+    public void write(Class<?> type, Iterator<RawBsonDocument> documents, JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        writeElements(shapes.computeIfAbsent(type, this::shapeOf), documents, generator, dateFormat(objectMapper));
+        generator.writeEndArray();
+    }
+
+    private void write(Class<?> type, Bson filter, List<String> collections, JsonGenerator generator,
+                       DateFormat dateFormat) throws IOException {
+        Shape shape = shapes.computeIfAbsent(type, this::shapeOf);
+        Bson projection = Projections.include(new ArrayList<>(shape.byMongoName().keySet()));
+        generator.writeStartArray();
+        for (String collection : collections) {
+            try (MongoCursor<RawBsonDocument> cursor = mongoTemplate.getCollection(collection)
+                    .withDocumentClass(RawBsonDocument.class)
+                    .find(filter)
+                    .projection(projection)
+                    .cursor()) {
+                writeElements(shape, cursor, generator, dateFormat);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeElements(Shape shape, Iterator<RawBsonDocument> documents, JsonGenerator generator,
+                               DateFormat dateFormat) throws IOException {
+        while (documents.hasNext()) {
+            // A reader over the document's own buffer; asBsonReader() costs several KB per document
+            try (BsonReader reader = new BsonBinaryReader(documents.next().getByteBuffer().asNIO())) {
+                writeDocument(reader, shape, generator, dateFormat);
+            }
+        }
+    }
+
+    private void writeDocument(BsonReader reader, Shape shape, JsonGenerator generator, DateFormat dateFormat)
+            throws IOException {
+        reader.readStartDocument();
+        generator.writeStartObject();
+        boolean[] seen = shape == null ? null : new boolean[shape.fields().size()];
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            Field field = shape == null ? null : shape.byMongoName().get(name);
+            if (shape != null && field == null) {
+                reader.skipValue();
+                continue;
+            }
+            generator.writeFieldName(field == null ? name : field.jsonName());
+            writeValue(reader, field, generator, dateFormat);
+            if (field != null) {
+                seen[field.index()] = true;
+            }
+        }
+        reader.readEndDocument();
+        if (seen != null) {
+            for (int i = 0; i < seen.length; i++) {
+                if (!seen[i]) {
+                    writeMissing(shape.fields().get(i), generator);
+                }
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeValue(BsonReader reader, Field field, JsonGenerator generator, DateFormat dateFormat)
+            throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case STRING -> {
+                String value = reader.readString();
+                if (field != null && field.numericString()) {
+                    writeDecimal(generator, value);
+                } else {
+                    generator.writeString(value);
+                }
+            }
+            case OBJECT_ID -> generator.writeString(reader.readObjectId().toHexString());
+            case INT32 -> generator.writeNumber(reader.readInt32());
+            case INT64 -> generator.writeNumber(reader.readInt64());
+            case DOUBLE -> generator.writeNumber(reader.readDouble());
+            case DECIMAL128 -> generator.writeNumber(reader.readDecimal128().bigDecimalValue());
+            case BOOLEAN -> generator.writeBoolean(reader.readBoolean());
+            case DATE_TIME -> {
+                long millis = reader.readDateTime();
+                if (dateFormat == null) {
+                    generator.writeNumber(millis);
+                } else {
+                    generator.writeString(dateFormat.format(new Date(millis)));
+                }
+            }
+            case DOCUMENT -> writeDocument(reader, field == null ? null : field.nested(), generator, dateFormat);
+            case ARRAY -> {
+                reader.readStartArray();
+                generator.writeStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    writeValue(reader, field, generator, dateFormat);
+                }
+                reader.readEndArray();
+                generator.writeEndArray();
+            }
+            case NULL -> {
+                reader.readNull();
+                generator.writeNull();
+            }
+            default -> {
+                // Binary, regex and the like never appear in the mapped entities
+                reader.skipValue();
+                generator.writeNull();
+            }
+        }
+    }
+
+    // What Jackson writes for an unset property: the primitive default, otherwise null
+    private static void writeMissing(Field field, JsonGenerator generator) throws IOException {
+        generator.writeFieldName(field.jsonName());
+        Class<?> type = field.type();
+        if (type == boolean.class) {
+            generator.writeBoolean(false);
+        } else if (type == double.class || type == float.class) {
+            generator.writeNumber(0.0);
+        } else if (type.isPrimitive() && type != char.class) {
+            generator.writeNumber(0);
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator generator, String value) throws IOException {
+        if (generator.canWriteFormattedNumbers()) {
+            generator.writeNumber(value);
+        } else {
+            generator.writeNumber(new BigDecimal(value));
+        }
+    }
+
+    // Null when the mapper writes dates as epoch millis; a private copy otherwise, as DateFormat is not thread-safe
+    private static DateFormat dateFormat(ObjectMapper mapper) {
+        if (mapper.getSerializationConfig().isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            return null;
+        }
+        return (DateFormat) mapper.getSerializationConfig().getDateFormat().clone();
+    }
+
+    private Shape shapeOf(Class<?> type) {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> context =
+                mongoTemplate.getConverter().getMappingContext();
+        return shapeOf(context.getRequiredPersistentEntity(type), context, new HashMap<>());
+    }
+
+    private Shape shapeOf(MongoPersistentEntity<?> entity,
+                          MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> context,
+                          Map<Class<?>, Shape> building) {
+        Shape existing = building.get(entity.getType());
+        if (existing != null) {
+            return existing;
+        }
+        Map<String, Field> byMongoName = new LinkedHashMap<>();
+        List<Field> fields = new ArrayList<>();
+        Shape shape = new Shape(byMongoName, fields);
+        building.put(entity.getType(), shape);
+        for (MongoPersistentProperty property : entity) {
+            Class<?> actual = property.getActualType();
+            Shape nested = property.isEntity()
+                    ? shapeOf(context.getRequiredPersistentEntity(actual), context, building)
+                    : null;
+            boolean numericString = actual == BigDecimal.class || actual == BigInteger.class;
+            Field field = new Field(property.getName(), fields.size(), numericString, property.getType(), nested);
+            byMongoName.put(property.getFieldName(), field);
+            fields.add(field);
+        }
+        return shape;
+    }
+}
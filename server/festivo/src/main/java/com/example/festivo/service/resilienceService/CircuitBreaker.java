@@ -0,0 +1,137 @@
+package com.example.festivo.service.resilienceService;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker. The last {@code windowSize} calls are kept as
+ * outcomes; once at least {@code minimumCalls} are recorded and either the
+ * failure rate or the slow-call rate reaches its threshold, the circuit opens.
+ * After {@code openDuration} a few trial calls are let through (half-open) and
+ * decide whether it closes again.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final byte[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private int slow;
+    private long openedAt;
+    private int trialsStarted;
+    private int trialsFinished;
+    private boolean trialFailed;
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, double slowRateThreshold,
+                   Duration slowCall, Duration openDuration, int halfOpenCalls) {
+        this.window = new byte[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowRateThreshold = slowRateThreshold;
+        this.slowCallNanos = slowCall.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialsStarted = 0;
+            trialsFinished = 0;
+            trialFailed = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsStarted >= halfOpenCalls) {
+                return false;
+            }
+            trialsStarted++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess(long elapsedNanos) {
+        record(elapsedNanos >= slowCallNanos ? SLOW : SUCCESS);
+    }
+
+    synchronized void onFailure() {
+        record(FAILURE);
+    }
+
+    // A permit was taken but the call never reached Mongo
+    synchronized void release() {
+        if (state == State.HALF_OPEN && trialsStarted > trialsFinished) {
+            trialsStarted--;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(byte outcome) {
+        if (state == State.HALF_OPEN) {
+            trialsFinished++;
+            trialFailed |= outcome != SUCCESS;
+            if (trialFailed) {
+                open();
+            } else if (trialsFinished >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // Calls admitted before the circuit opened
+            return;
+        }
+
+        if (recorded == window.length) {
+            evict(window[next]);
+        } else {
+            recorded++;
+        }
+        window[next] = outcome;
+        failures += outcome == FAILURE ? 1 : 0;
+        slow += outcome == SLOW ? 1 : 0;
+        next = (next + 1) % window.length;
+
+        if (recorded >= minimumCalls
+                && ((double) failures / recorded >= failureRateThreshold
+                || (double) slow / recorded >= slowRateThreshold)) {
+            open();
+        }
+    }
+
+    private void evict(byte outcome) {
+        failures -= outcome == FAILURE ? 1 : 0;
+        slow -= outcome == SLOW ? 1 : 0;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+        slow = 0;
+    }
+}
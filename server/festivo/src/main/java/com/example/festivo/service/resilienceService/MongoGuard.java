@@ -0,0 +1,179 @@
+package com.example.festivo.service.resilienceService;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.MongoException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Wraps repository calls in a bulkhead and a shared circuit breaker. Reads
+ * and writes get separate permit pools, so a pile-up of slow catalog reads
+ * cannot starve order and payment writes. Successful reads are remembered;
+ * while the circuit is open or the read bulkhead is full, a read is answered
+ * from that copy if it is younger than the stale max age.
+ */
+@Slf4j
+@Service
+public class MongoGuard {
+
+    private record Snapshot(Object value, long storedAtMillis) {
+    }
+
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore readPermits;
+    private final Semaphore writePermits;
+    private final long bulkheadWaitMillis;
+    private final long staleMaxAgeMillis;
+    private final Map<String, Snapshot> snapshots;
+    private final MeterRegistry meterRegistry;
+
+    public MongoGuard(@Value("${festivo.resilience.read-permits:64}") int readPermits,
+                      @Value("${festivo.resilience.write-permits:32}") int writePermits,
+                      @Value("${festivo.resilience.bulkhead-wait:100ms}") Duration bulkheadWait,
+                      @Value("${festivo.resilience.window-size:50}") int windowSize,
+                      @Value("${festivo.resilience.minimum-calls:20}") int minimumCalls,
+                      @Value("${festivo.resilience.failure-rate:0.5}") double failureRate,
+                      @Value("${festivo.resilience.slow-call-rate:0.8}") double slowCallRate,
+                      @Value("${festivo.resilience.slow-call:1s}") Duration slowCall,
+                      @Value("${festivo.resilience.open-duration:10s}") Duration openDuration,
+                      @Value("${festivo.resilience.half-open-calls:5}") int halfOpenCalls,
+                      @Value("${festivo.resilience.stale-max-age:10m}") Duration staleMaxAge,
+                      @Value("${festivo.resilience.stale-max-entries:1000}") int staleMaxEntries,
+                      MeterRegistry meterRegistry) {
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRate, slowCallRate,
+                slowCall, openDuration, halfOpenCalls);
+        this.readPermits = new Semaphore(readPermits);
+        this.writePermits = new Semaphore(writePermits);
+        this.bulkheadWaitMillis = bulkheadWait.toMillis();
+        this.staleMaxAgeMillis = staleMaxAge.toMillis();
+        this.snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > staleMaxEntries;
+            }
+        };
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("festivo.resilience.circuit.state", circuitBreaker, cb -> cb.getState().ordinal());
+        meterRegistry.gauge("festivo.resilience.read.available", readPermits);
+        meterRegistry.gauge("festivo.resilience.write.available", writePermits);
+    }
+
+    /**
+     * Runs a read, falling back to the last successful result for the same
+     * method and arguments when Mongo is unavailable.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String method, Supplier<T> call, Object... args) {
+        String key = args.length == 0 ? method : method + Arrays.deepToString(args);
+        try {
+            T value = call(method, "read", readPermits, call);
+            synchronized (snapshots) {
+                snapshots.put(key, new Snapshot(value, System.currentTimeMillis()));
+            }
+            return value;
+        } catch (RuntimeException e) {
+            if (!isDatabaseFailure(e)) {
+                throw e;
+            }
+            Snapshot snapshot;
+            synchronized (snapshots) {
+                snapshot = snapshots.get(key);
+            }
+            if (snapshot == null || System.currentTimeMillis() - snapshot.storedAtMillis() > staleMaxAgeMillis) {
+                throw e;
+            }
+            count("read", method, "stale");
+            log.debug("Serving {} from a {} ms old snapshot: {}", key,
+                    System.currentTimeMillis() - snapshot.storedAtMillis(), e.getMessage());
+            return (T) snapshot.value();
+        }
+    }
+
+    /**
+     * A read under the same breaker and bulkhead, but with no stale fallback;
+     * for reads whose result is streamed out instead of returned.
+     */
+    public void readThrough(String method, Runnable call) {
+        call(method, "read", readPermits, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /** Same, returning the result: for a lookup that a write then builds on, where a stale copy would be wrong. */
+    public <T> T readThrough(String method, Supplier<T> call) {
+        return call(method, "read", readPermits, call);
+    }
+
+    public <T> T write(String method, Supplier<T> call) {
+        return call(method, "write", writePermits, call);
+    }
+
+    public void write(String method, Runnable call) {
+        call(method, "write", writePermits, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private <T> T call(String method, String type, Semaphore permits, Supplier<T> call) {
+        if (!circuitBreaker.tryAcquire()) {
+            count(type, method, "circuit_open");
+            throw new TransientDataAccessResourceException("Database temporarily unavailable");
+        }
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            circuitBreaker.release();
+            count(type, method, "bulkhead_full");
+            throw new TransientDataAccessResourceException("Too many concurrent database " + type + "s");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T value = call.get();
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            count(type, method, "success");
+            return value;
+        } catch (RuntimeException e) {
+            if (isDatabaseFailure(e)) {
+                circuitBreaker.onFailure();
+                count(type, method, "failure");
+            } else {
+                // Application errors (not found, validation) say nothing about Mongo health
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+            }
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    // A duplicate key is the unique index doing its job, not Mongo failing
+    private static boolean isDatabaseFailure(RuntimeException e) {
+        return !(e instanceof DuplicateKeyException) && (e instanceof DataAccessException || e instanceof MongoException);
+    }
+
+    private void count(String type, String method, String outcome) {
+        meterRegistry.counter("festivo.resilience.calls", "type", type, "method", method, "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.festivo.service.responseCacheService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps hot list responses as ready-to-send bytes: the JSON body plus gzip
+ * and deflate encodings, and the CBOR and Smile bodies, each in a direct
+ * buffer. A hit costs a header lookup and one write; Jackson and the
+ * compressor only run after an invalidation.
+ */
+@Service
+public class ResponseByteCache {
+
+    public static final String EVENT_THEMES = "eventThemes";
+    public static final String SUPPLIER_PRODUCTS = "supplierProducts";
+    // Projections of a view are named "<view>.<projection>" and invalidated with it
+    public static final String EVENT_THEMES_SUMMARY = EVENT_THEMES + ".summary";
+    public static final String SUPPLIER_PRODUCTS_SUMMARY = SUPPLIER_PRODUCTS + ".summary";
+
+    public static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private record Entry(String etag, ByteBuffer identity, ByteBuffer gzip, ByteBuffer deflate,
+                         ByteBuffer cbor, ByteBuffer smile) {
+        long bytes() {
+            return identity.capacity() + gzip.capacity() + deflate.capacity() + cbor.capacity() + smile.capacity();
+        }
+    }
+
+    /** Writes a body token by token, e.g. straight from a Mongo cursor. */
+    @FunctionalInterface
+    public interface BodyWriter {
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a body built from older data is never stored; keyed by base view
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseByteCache(ObjectMapper objectMapper,
+                             MappingJackson2CborHttpMessageConverter cborConverter,
+                             MappingJackson2SmileHttpMessageConverter smileConverter,
+                             MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.smileMapper = smileConverter.getObjectMapper();
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("festivo.response.cache.bytes", entries,
+                map -> map.values().stream().mapToLong(Entry::bytes).sum());
+    }
+
+    /**
+     * Writes the cached body for {@code view}, loading and encoding it first
+     * if needed. Answers 304 when the client already has the current ETag.
+     */
+    public void write(String view, Supplier<?> loader,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Entry entry = entries.get(view);
+        if (entry == null) {
+            count(view, "miss");
+            entry = load(view, () -> encode(loader.get()));
+        } else {
+            count(view, "hit");
+        }
+        send(entry, request, response);
+    }
+
+    /**
+     * Same as {@link #write(String, Supplier, HttpServletRequest, HttpServletResponse)},
+     * but a miss streams the JSON body from {@code writer} and transcodes the
+     * CBOR and Smile bodies from it token by token, so no value objects exist.
+     */
+    public void write(String view, BodyWriter writer,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Entry entry = entries.get(view);
+        if (entry == null) {
+            count(view, "miss");
+            entry = load(view, () -> stream(writer));
+        } else {
+            count(view, "hit");
+        }
+        send(entry, request, response);
+    }
+
+    private void send(Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType format = negotiateFormat(request.getHeader(HttpHeaders.ACCEPT));
+        if (format == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_ACCEPTABLE);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, entry.etag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (entry.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        ByteBuffer body;
+        if (format.equals(MediaType.APPLICATION_CBOR)) {
+            body = entry.cbor();
+        } else if (format.equals(SMILE)) {
+            body = entry.smile();
+        } else {
+            // Only the JSON body is compressed; the binary formats are already compact
+            String encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            body = switch (encoding) {
+                case "gzip" -> entry.gzip();
+                case "deflate" -> entry.deflate();
+                default -> entry.identity();
+            };
+            if (!encoding.equals("identity")) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+            }
+        }
+        response.setContentType(format.toString());
+        response.setContentLength(body.capacity());
+
+        // duplicate() gives this request its own position over the shared bytes
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        ByteBuffer remaining = body.duplicate();
+        while (remaining.hasRemaining()) {
+            channel.write(remaining);
+        }
+    }
+
+    public void invalidate(String view) {
+        String base = base(view);
+        versions.computeIfAbsent(base, v -> new AtomicLong()).incrementAndGet();
+        entries.keySet().removeIf(key -> base(key).equals(base));
+    }
+
+    private static String base(String view) {
+        int dot = view.indexOf('.');
+        return dot < 0 ? view : view.substring(0, dot);
+    }
+
+    private record Bodies(byte[] json, byte[] cbor, byte[] smile) {
+    }
+
+    private Entry load(String view, Supplier<Bodies> encoder) {
+        AtomicLong version = versions.computeIfAbsent(base(view), v -> new AtomicLong());
+        long before = version.get();
+
+        Bodies bodies = encoder.get();
+        byte[] json = bodies.json();
+        Entry entry = new Entry(etag(json), direct(json), direct(gzip(json)), direct(deflate(json)),
+                direct(bodies.cbor()), direct(bodies.smile()));
+
+        if (version.get() == before) {
+            entries.put(view, entry);
+            if (version.get() != before) {
+                entries.remove(view, entry);
+            }
+        }
+        return entry;
+    }
+
+    private Bodies encode(Object value) {
+        try {
+            return new Bodies(objectMapper.writeValueAsBytes(value), cborMapper.writeValueAsBytes(value),
+                    smileMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize response", e);
+        }
+    }
+
+    private Bodies stream(BodyWriter writer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try {
+            try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+                writer.writeTo(generator);
+            }
+            byte[] json = out.toByteArray();
+            return new Bodies(json, transcode(json, cborMapper), transcode(json, smileMapper));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stream response", e);
+        }
+    }
+
+    private byte[] transcode(byte[] json, ObjectMapper target) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 64);
+        try (JsonParser parser = objectMapper.createParser(json);
+             JsonGenerator generator = target.createGenerator(out, JsonEncoding.UTF8)) {
+            while (parser.nextToken() != null) {
+                // Exact keeps decimals as written instead of going through double
+                generator.copyCurrentEventExact(parser);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    // Highest-q supported type wins, earlier entries break ties; null when none is acceptable
+    public static MediaType negotiateFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType best = null;
+        double bestQuality = 0;
+        for (MediaType type : accepted) {
+            double quality = type.getQualityValue();
+            if (quality <= bestQuality) {
+                continue;
+            }
+            for (MediaType supported : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE)) {
+                if (type.includes(supported)) {
+                    best = supported;
+                    bestQuality = quality;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Picks the first supported coding the client accepts, preferring gzip
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return "identity";
+        }
+        boolean deflate = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            boolean refused = tokens.length > 1 && tokens[1].trim().matches("q=0(\\.0*)?");
+            if (refused) {
+                continue;
+            }
+            if (coding.equals("gzip")) {
+                return "gzip";
+            }
+            if (coding.equals("deflate")) {
+                deflate = true;
+            }
+        }
+        return deflate ? "deflate" : "identity";
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (OutputStream gz = new GZIPOutputStream(out) {
+            { def.setLevel(Deflater.BEST_COMPRESSION); }
+        }) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (OutputStream def = new DeflaterOutputStream(out, deflater)) {
+            def.write(json);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        // Weak: the JSON, CBOR and Smile bodies and their encodings all represent the same data
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(json.length) + "\"";
+    }
+
+    private void count(String view, String result) {
+        meterRegistry.counter("festivo.response.cache.lookups", "view", view, "result", result).increment();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.festivo.service.rollupService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.entity.rollupEntity.RollupBucket;
+import com.example.festivo.repository.rollupRepository.RollupRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pre-aggregated counts and amounts for the admin dashboards. Writes are
+ * summed in memory per hour and flushed as $inc upserts into the hourly,
+ * daily and monthly buckets in one bulk request. Deleted and archived
+ * documents are taken back out, so the buckets count what is still live. A
+ * nightly job drops fine grained buckets that have aged out, since the
+ * coarser ones still hold them.
+ */
+@Slf4j
+@Service
+public class RollupService {
+
+    public static final String EVENT_TYPE = "event.eventType";
+    public static final String PAYMENT_CARD_TYPE = "payment.cardType";
+    public static final String SUPPLIER_ORDER_CATEGORY = "supplierOrder.supplierCategory";
+    public static final String SUPPLIER_PAYMENT_STATUS = "supplierPayment.paymentStatus";
+
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+    public static final String MONTH = "MONTH";
+
+    private record Key(String metric, String dimensionValue, long hourStart) {
+    }
+
+    private record Delta(long count, double amount) {
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, amount + other.amount);
+        }
+    }
+
+    /** One $inc upsert into one bucket. */
+    private record Inc(String granularity, String metric, String dimensionValue, Date start, Delta delta) {
+        String id() {
+            return granularity + "|" + metric + "|" + dimensionValue + "|" + start.getTime();
+        }
+
+        Inc plus(Inc other) {
+            return new Inc(granularity, metric, dimensionValue, start, delta.plus(other.delta));
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final RollupRepo rollupRepo;
+    private final Duration hourRetention;
+    private final Duration dayRetention;
+    private final Map<Key, Delta> pending = new ConcurrentHashMap<>();
+    // Single bucket writes a flush could not apply, by bucket id
+    private final Map<String, Inc> failed = new ConcurrentHashMap<>();
+
+    public RollupService(MongoTemplate mongoTemplate,
+                         RollupRepo rollupRepo,
+                         MeterRegistry meterRegistry,
+                         @Value("${festivo.rollup.hour-retention:14d}") Duration hourRetention,
+                         @Value("${festivo.rollup.day-retention:400d}") Duration dayRetention) {
+        this.mongoTemplate = mongoTemplate;
+        this.rollupRepo = rollupRepo;
+        this.hourRetention = hourRetention;
+        this.dayRetention = dayRetention;
+        meterRegistry.gauge("festivo.rollup.pending", pending, Map::size);
+    }
+
+    public void record(String metric, String dimensionValue, double amount) {
+        add(metric, dimensionValue, new Delta(1, amount), Instant.now());
+    }
+
+    /**
+     * Used when a document changes category, e.g. a payment status update.
+     * Both sides land in the buckets of {@code recordedAt}, when the document
+     * was first recorded, so the -1 meets the +1 it cancels and no bucket
+     * goes negative.
+     */
+    public void move(String metric, String fromValue, String toValue, double amount, Instant recordedAt) {
+        if (normalize(fromValue).equals(normalize(toValue))) {
+            return;
+        }
+        add(metric, fromValue, new Delta(-1, -amount), recordedAt);
+        add(metric, toValue, new Delta(1, amount), recordedAt);
+    }
+
+    /**
+     * Takes back a {@link #record} for a document that was deleted or
+     * archived, in the buckets of {@code recordedAt} as with {@link #move}.
+     * Without a time there is no telling which bucket holds it, so nothing
+     * changes.
+     */
+    public void retract(String metric, String dimensionValue, double amount, Instant recordedAt) {
+        if (recordedAt != null) {
+            add(metric, dimensionValue, new Delta(-1, -amount), recordedAt);
+        }
+    }
+
+    /** When a document was recorded, read from its generated ObjectId; null for any other id. */
+    public static Instant createdAt(Object id) {
+        if (id instanceof ObjectId objectId) {
+            return objectId.getDate().toInstant();
+        }
+        return id instanceof String value && ObjectId.isValid(value)
+                ? new ObjectId(value).getDate().toInstant()
+                : null;
+    }
+
+    private void add(String metric, String dimensionValue, Delta delta, Instant at) {
+        long hourStart = at.truncatedTo(ChronoUnit.HOURS).toEpochMilli();
+        pending.merge(new Key(metric, normalize(dimensionValue), hourStart), delta, Delta::plus);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${festivo.rollup.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty() && failed.isEmpty()) {
+            return;
+        }
+
+        List<Inc> incs = new ArrayList<>();
+        for (String id : failed.keySet()) {
+            Inc inc = failed.remove(id);
+            if (inc != null) {
+                incs.add(inc);
+            }
+        }
+        for (Key key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                ZonedDateTime hour = Instant.ofEpochMilli(key.hourStart()).atZone(ZoneOffset.UTC);
+                incs.add(inc(HOUR, key, hour, delta));
+                incs.add(inc(DAY, key, hour.truncatedTo(ChronoUnit.DAYS), delta));
+                incs.add(inc(MONTH, key, hour.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1), delta));
+            }
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RollupBucket.class);
+        incs.forEach(inc -> upsert(bulk, inc));
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: everything but the reported writes was applied, so only those are retried
+            log.warn("Rollup flush applied {} of {} bucket writes, retrying the rest next run",
+                    incs.size() - e.getErrors().size(), incs.size());
+            e.getErrors().forEach(error -> retry(incs.get(error.getIndex())));
+        } catch (Exception e) {
+            // Nothing says what reached Mongo; retrying all may count some twice, dropping all loses them
+            log.warn("Rollup flush failed, keeping {} bucket writes for the next run: {}", incs.size(), e.getMessage());
+            incs.forEach(this::retry);
+        }
+    }
+
+    private void retry(Inc inc) {
+        failed.merge(inc.id(), inc, Inc::plus);
+    }
+
+    private static Inc inc(String granularity, Key key, ZonedDateTime bucketStart, Delta delta) {
+        return new Inc(granularity, key.metric(), key.dimensionValue(), Date.from(bucketStart.toInstant()), delta);
+    }
+
+    private void upsert(BulkOperations bulk, Inc inc) {
+        Update update = new Update()
+                .inc("count", inc.delta().count())
+                .inc("amount", inc.delta().amount())
+                .setOnInsert("granularity", inc.granularity())
+                .setOnInsert("metric", inc.metric())
+                .setOnInsert("dimensionValue", inc.dimensionValue())
+                .setOnInsert("bucketStart", inc.start());
+        Query bucket = Query.query(Criteria.where("_id").is(inc.id()));
+        if (inc.delta().count() < 0) {
+            // A missing bucket was compacted away or never counted this document; don't start it negative
+            bulk.updateOne(bucket, update);
+        } else {
+            bulk.upsert(bucket, update);
+        }
+    }
+
+    @Scheduled(cron = "${festivo.rollup.compact-cron:0 15 3 * * *}")
+    public void compact() {
+        Instant now = Instant.now();
+        long hours = rollupRepo.deleteByGranularityAndBucketStartBefore(HOUR, Date.from(now.minus(hourRetention)));
+        long days = rollupRepo.deleteByGranularityAndBucketStartBefore(DAY, Date.from(now.minus(dayRetention)));
+        log.info("Rollup compaction removed {} hourly and {} daily buckets", hours, days);
+    }
+
+    public List<RollupBucket> getBuckets(String granularity, String metric, Date from, Date to) {
+        return rollupRepo.findByGranularityAndMetricAndBucketStartBetweenOrderByBucketStartAsc(
+                granularity, metric, from, to);
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? "UNKNOWN" : value;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.festivo.service.slowQueryService;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.RawBsonDocument;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Driver-level listener that hands commands slower than the threshold to
+ * {@link SlowQueryLog}. Only commands that explain() understands are tracked.
+ * The driver releases the command's buffer before the reply arrives, so each
+ * command is copied at start, as raw bytes; only a slow one is ever decoded.
+ */
+@Component
+public class SlowQueryListener implements CommandListener {
+
+    static final Set<String> EXPLAINABLE = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdMs;
+    private final Map<Integer, RawBsonDocument> started = new ConcurrentHashMap<>();
+
+    public SlowQueryListener(SlowQueryLog slowQueryLog,
+                             @Value("${festivo.slow-query.threshold-ms:100}") long thresholdMs) {
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdMs = thresholdMs;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (EXPLAINABLE.contains(event.getCommandName())) {
+            started.put(event.getRequestId(), rawCopy(event.getCommand()));
+        }
+    }
+
+    // A byte copy: piping a binary reader copies the document without building a BsonValue per field
+    private static RawBsonDocument rawCopy(BsonDocument command) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonReader reader = command.asBsonReader(); BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            writer.pipe(reader);
+        }
+        return new RawBsonDocument(buffer.getInternalBuffer(), 0, buffer.getPosition());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finished(event.getRequestId(), event.getDatabaseName(), event.getCommandName(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finished(event.getRequestId(), event.getDatabaseName(), event.getCommandName(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS), true);
+    }
+
+    private void finished(int requestId, String database, String commandName, long elapsedMs, boolean failed) {
+        BsonDocument command = started.remove(requestId);
+        if (command != null && elapsedMs >= thresholdMs) {
+            slowQueryLog.record(database, commandName, command, elapsedMs, failed);
+        }
+    }
+}
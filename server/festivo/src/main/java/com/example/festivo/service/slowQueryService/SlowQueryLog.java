@@ -0,0 +1,231 @@
+package com.example.festivo.service.slowQueryService;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.dto.slowQueryDTO.SlowQueryEntry;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ring buffer of recent slow Mongo commands. The first time a query shape
+ * (collection, command and filter keys with the values stripped) shows up,
+ * it is explained with executionStats on a background thread, and the plan
+ * summary is attached to every entry of that shape.
+ */
+@Slf4j
+@Service
+public class SlowQueryLog {
+
+    // Envelope fields the driver adds that explain() rejects or that vary per call
+    private static final Set<String> DRIVER_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "txnNumber", "$readPreference", "apiVersion",
+            "apiStrict", "apiDeprecationErrors", "autocommit", "startTransaction", "readConcern");
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final SlowQueryEntry[] buffer;
+    private final AtomicLong next = new AtomicLong();
+    private final Map<String, SlowQueryEntry> plansByShape = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(100), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryLog(ObjectProvider<MongoTemplate> mongoTemplate,
+                        @Value("${festivo.slow-query.buffer-size:200}") int bufferSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.buffer = new SlowQueryEntry[bufferSize];
+    }
+
+    public void record(String database, String commandName, BsonDocument command, long elapsedMs, boolean failed) {
+        BsonDocument stripped = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!DRIVER_FIELDS.contains(key)) {
+                stripped.put(key, value);
+            }
+        });
+        String collection = stripped.get(commandName) != null && stripped.get(commandName).isString()
+                ? stripped.getString(commandName).getValue()
+                : null;
+        String shape = collection + "." + commandName + " " + shapeOf(stripped, commandName);
+
+        SlowQueryEntry entry = new SlowQueryEntry(new Date(), database, collection, commandName,
+                elapsedMs, shape, failed, null, null, null, null, null);
+        int slot = (int) (next.getAndIncrement() % buffer.length);
+        synchronized (buffer) {
+            buffer[slot] = entry;
+        }
+        log.warn("Slow Mongo {} on {} took {} ms: {}", commandName, collection, elapsedMs, shape);
+
+        if (!failed && plansByShape.putIfAbsent(shape, entry) == null) {
+            explainer.execute(() -> explain(database, stripped, shape));
+        }
+    }
+
+    private void explain(String database, BsonDocument command, String shape) {
+        try {
+            Document result = mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(database)
+                    .runCommand(new Document("explain", command).append("verbosity", "executionStats"));
+
+            SlowQueryEntry plan = new SlowQueryEntry();
+            Document stats = findDocument(result, "executionStats");
+            if (stats != null) {
+                plan.setDocsReturned(asLong(stats.get("nReturned")));
+                plan.setDocsExamined(asLong(stats.get("totalDocsExamined")));
+                plan.setKeysExamined(asLong(stats.get("totalKeysExamined")));
+            }
+            Document winningPlan = findDocument(result, "winningPlan");
+            String index = winningPlan == null ? null : findString(winningPlan, "indexName");
+            plan.setIndexName(index);
+            plan.setPlanSummary(index != null ? "IXSCAN " + index
+                    : winningPlan != null && containsStage(winningPlan, "COLLSCAN") ? "COLLSCAN" : "UNKNOWN");
+            plansByShape.put(shape, plan);
+
+            log.warn("Explain for {}: {} examined {} docs to return {}",
+                    shape, plan.getPlanSummary(), plan.getDocsExamined(), plan.getDocsReturned());
+        } catch (Exception e) {
+            // Forget the shape so a later occurrence can try again
+            plansByShape.remove(shape);
+            log.debug("Explain failed for {}: {}", shape, e.getMessage());
+        }
+    }
+
+    /**
+     * Newest first, with the plan summary of each entry's shape filled in.
+     */
+    public List<SlowQueryEntry> getEntries() {
+        List<SlowQueryEntry> entries = new ArrayList<>();
+        long end = next.get();
+        synchronized (buffer) {
+            for (long i = end - 1; i >= Math.max(0, end - buffer.length); i--) {
+                SlowQueryEntry entry = buffer[(int) (i % buffer.length)];
+                if (entry != null) {
+                    entries.add(withPlan(entry));
+                }
+            }
+        }
+        return entries;
+    }
+
+    private SlowQueryEntry withPlan(SlowQueryEntry entry) {
+        SlowQueryEntry plan = plansByShape.get(entry.getShape());
+        if (plan == null || plan.getPlanSummary() == null) {
+            return entry;
+        }
+        return new SlowQueryEntry(entry.getTimestamp(), entry.getDatabase(), entry.getCollection(),
+                entry.getCommandName(), entry.getDurationMs(), entry.getShape(), entry.isFailed(),
+                plan.getPlanSummary(), plan.getIndexName(), plan.getDocsExamined(),
+                plan.getKeysExamined(), plan.getDocsReturned());
+    }
+
+    // Keeps field names and structure, replaces every literal with "?"
+    private static String shapeOf(BsonDocument command, String commandName) {
+        Map<String, String> shape = new TreeMap<>();
+        command.forEach((key, value) -> {
+            if (!key.equals(commandName)) {
+                shape.put(key, shapeOf(value));
+            }
+        });
+        return shape.toString();
+    }
+
+    private static String shapeOf(BsonValue value) {
+        if (value.isDocument()) {
+            Map<String, String> shape = new TreeMap<>();
+            value.asDocument().forEach((k, v) -> shape.put(k, shapeOf(v)));
+            return shape.toString();
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            return array.isEmpty() ? "[]" : "[" + shapeOf(array.get(0)) + "]";
+        }
+        return "?";
+    }
+
+    private static Document findDocument(Document doc, String key) {
+        Object direct = doc.get(key);
+        if (direct instanceof Document found) {
+            return found;
+        }
+        for (Object value : doc.values()) {
+            Document found = findIn(value, key);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static Document findIn(Object value, String key) {
+        if (value instanceof Document nested) {
+            return findDocument(nested, key);
+        }
+        if (value instanceof List<?> list) {
+            for (Object item : list) {
+                Document found = findIn(item, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String findString(Document doc, String key) {
+        if (doc.get(key) instanceof String s) {
+            return s;
+        }
+        for (Object value : doc.values()) {
+            if (value instanceof Document nested) {
+                String found = findString(nested, key);
+                if (found != null) {
+                    return found;
+                }
+            } else if (value instanceof List<?> list) {
+                for (Object item : list) {
+                    if (item instanceof Document nested) {
+                        String found = findString(nested, key);
+                        if (found != null) {
+                            return found;
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean containsStage(Document plan, String stage) {
+        return plan.toJson().contains("\"stage\": \"" + stage + "\"");
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+}
@@ -3,19 +3,30 @@ package com.example.festivo.service.supplierOrderRequestService;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.observation.annotation.Observed;
+
 import com.example.festivo.dto.SupplierOrderRequestdto.SupplierReqDTO;
 import com.example.festivo.dto.SupplierOrderRequestdto.SupplierResDTO;
 import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
 import com.example.festivo.repository.supplierOrderReqRepository.SupplierOrderReqRepo;
+import com.example.festivo.service.archiveService.ArchiveService;
+import com.example.festivo.service.availabilityService.AvailabilityService;
+import com.example.festivo.service.rollupService.RollupService;
 
 import lombok.AllArgsConstructor;
 
+@Observed
 @Service
 @AllArgsConstructor
 public class SupplierOrderReqService {
     private final SupplierOrderReqRepo supplierOrderReqRepository;
+    private final RollupService rollupService;
+    private final ArchiveService archiveService;
+    private final AvailabilityService availabilityService;
 
     public SupplierResDTO createSupplierOrder(SupplierReqDTO req) {
 
@@ -38,11 +49,16 @@ public class SupplierOrderReqService {
         if (saved.getId() == null)
             return new SupplierResDTO(null, "System Error");
 
+        rollupService.record(RollupService.SUPPLIER_ORDER_CATEGORY, saved.getSupplierCategory(), 0);
+
         return new SupplierResDTO("Event Saved Success", null);
     }
 
-    public List<SupplierReq> getAllSupplierOrder() {
-        return supplierOrderReqRepository.findAll();
+    public List<SupplierReq> getAllSupplierOrder(boolean history) {
+        if (!history) {
+            return supplierOrderReqRepository.findAll();
+        }
+        return archiveService.find(new Query(), SupplierReq.class, true);
     }
 
     public SupplierReq updateOrderStatus(String id, SupplierReqDTO req) {
@@ -54,16 +70,19 @@ public class SupplierOrderReqService {
             supplierReq.setStatus(req.getStatus());
             supplierReq.setAmount(req.getAmount());
             supplierReq.setAcceptedSupplier(req.getAcceptedSupplier());
-            SupplierReq updatedSupplierReq = supplierOrderReqRepository.save(supplierReq);
-            
-            return updatedSupplierReq;
+            // Accepting books the supplier for the event's window; 409 if they are taken then
+            return availabilityService.bookOrder(supplierReq, () -> supplierOrderReqRepository.save(supplierReq));
         } else {
             throw new RuntimeException("Supplier order with ID " + id + " not found");
         }
     }
 
-    public List<SupplierReq> getAcceptedSupplierOrder() {
-        return supplierOrderReqRepository.findByStatus("ACCEPTED");
+    public List<SupplierReq> getAcceptedSupplierOrder(boolean history) {
+        if (!history) {
+            return supplierOrderReqRepository.findByStatus("ACCEPTED");
+        }
+        // Accepted orders only reach the archive once their event date is long past
+        return archiveService.find(Query.query(Criteria.where("status").is("ACCEPTED")), SupplierReq.class, true);
     }
     
 
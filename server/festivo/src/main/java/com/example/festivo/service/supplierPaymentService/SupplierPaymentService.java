@@ -1,36 +1,65 @@
 package com.example.festivo.service.supplierPaymentService;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.Instant;
+
+import org.bson.conversions.Bson;
 
 import org.springframework.stereotype.Service;
 
+import io.micrometer.observation.annotation.Observed;
+
 import com.example.festivo.dto.supplierPaymentDTO.SupplierPaymentRequestDTO;
 import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
 import com.example.festivo.repository.supplierPaymentRepository.SupplierPaymentRepository;
+import com.example.festivo.service.archiveService.ArchiveService;
+import com.example.festivo.service.rawBsonService.RawBsonStreamer;
+import com.example.festivo.service.rollupService.RollupService;
+import com.mongodb.client.model.Filters;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import lombok.AllArgsConstructor;
 
+@Observed
 @Service
 @AllArgsConstructor
 public class SupplierPaymentService {
 
     
     private final SupplierPaymentRepository supplierPaymentRepository;
+    private final RollupService rollupService;
+    private final RawBsonStreamer rawBsonStreamer;
+    private final ArchiveService archiveService;
+
+    // The list reads stream raw BSON straight into the response; no entities are built.
+    // With history, settled payments moved to the archive follow the hot ones in the same array.
+    public void writeAllSupplierPayments(boolean history, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        write(Filters.empty(), history, request, response);
+    }
 
-    public List<SupplierPaymentEntity> getAllSupplierPayment(){
-        return supplierPaymentRepository.findAll();
+    public void writeSupplierPaymentsByProductId(String productId, boolean history, HttpServletRequest request,
+                                                 HttpServletResponse response) throws IOException {
+        write(Filters.eq("productId", productId), history, request, response);
     }
 
-    public List<SupplierPaymentEntity> getSupplierPaymentByProductId(String productId){
-        return supplierPaymentRepository.findByProductId(productId);
+    public void writeSupplierPaymentsByOrderId(String orderId, boolean history, HttpServletRequest request,
+                                               HttpServletResponse response) throws IOException {
+        write(Filters.eq("orderRequestId", orderId), history, request, response);
     }
 
-    public List<SupplierPaymentEntity> getSupplierPaymentBySupplierEmail(String orderId){
-        return supplierPaymentRepository.findByOrderRequestId(orderId);
+    public void writeSupplierPaymentsBySupplierEmail(String supplierEmail, boolean history,
+                                                     HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        write(Filters.eq("supplierEmail", supplierEmail), history, request, response);
     }
 
-    public List<SupplierPaymentEntity> getSupplierPaymentByOrderId(String supplierEmail){
-        return supplierPaymentRepository.findBySupplierEmail(supplierEmail);
+    private void write(Bson filter, boolean history, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        rawBsonStreamer.write(SupplierPaymentEntity.class, filter,
+                archiveService.collections(SupplierPaymentEntity.class, history), request, response);
     }
 
     public SupplierPaymentEntity createSupplierPayment(SupplierPaymentRequestDTO supplierPaymentDTO){
@@ -44,21 +73,37 @@ public class SupplierPaymentService {
         supplierPayment.setPaymentStatus(supplierPaymentDTO.getPaymentStatus());
         supplierPayment.setPaymentType(supplierPaymentDTO.getPaymentType());
 
-        return supplierPaymentRepository.save(supplierPayment);        
+        SupplierPaymentEntity saved = supplierPaymentRepository.save(supplierPayment);
+        rollupService.record(RollupService.SUPPLIER_PAYMENT_STATUS, saved.getPaymentStatus(), amountOf(saved));
+        return saved;
     }
 
     public SupplierPaymentEntity updateSupplierPayment(String id, SupplierPaymentRequestDTO supplierPaymentDTO){
         return supplierPaymentRepository.findById(id)
                 .map(existingPayment -> {
+                    String previousStatus = existingPayment.getPaymentStatus();
                     existingPayment.setSupplierEmail(supplierPaymentDTO.getSupplierEmail());
                     existingPayment.setPaymentStatus(supplierPaymentDTO.getPaymentStatus());
                     existingPayment.setDeliveryDate(supplierPaymentDTO.getDeliveryDate());;
 
-                    return supplierPaymentRepository.save(existingPayment);
+                    SupplierPaymentEntity saved = supplierPaymentRepository.save(existingPayment);
+                    rollupService.move(RollupService.SUPPLIER_PAYMENT_STATUS,
+                            previousStatus, saved.getPaymentStatus(), amountOf(saved), createdAt(saved));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Supplier Payment not found with id: " + id));                            
     }
 
+    private static double amountOf(SupplierPaymentEntity payment) {
+        return payment.getAmount() == null ? 0 : payment.getAmount().doubleValue();
+    }
+
+    // When createSupplierPayment recorded it; generated ids carry that time
+    private static Instant createdAt(SupplierPaymentEntity payment) {
+        Instant createdAt = RollupService.createdAt(payment.getId());
+        return createdAt == null ? Instant.now() : createdAt;
+    }
+
 
 
 }
@@ -1,23 +1,74 @@
 package com.example.festivo.service.supplierProductService;
 
 import org.springframework.stereotype.Service;
+
+import io.micrometer.observation.annotation.Observed;
 import com.example.festivo.dto.supplierProductsDto.SupplierProductRequestDTO;
+import com.example.festivo.dto.supplierProductsDto.SupplierProductSummaryDTO;
 import com.example.festivo.entity.suplierEntity.SupplierProductEntity;
 import com.example.festivo.repository.supplierProductRepository.SupplierProductRepository;
+import com.example.festivo.service.catalogService.CatalogCache;
+import com.example.festivo.service.coalescingService.RequestCoalescer;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
+import com.example.festivo.service.resilienceService.MongoGuard;
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+@Observed
 @Service
 public class SupplierProductService {
 
+    // supplierEmail ties the product to its owner and is not editable
+    private static final Set<String> WRITABLE = Set.of("productName", "price", "quantity", "description", "imageUrl");
+
     private final SupplierProductRepository supplierProductRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final ResponseByteCache responseByteCache;
+    private final MongoGuard mongoGuard;
+    private final CatalogCache catalogCache;
+    private final PartialUpdateService partialUpdateService;
 
     
-    public SupplierProductService(SupplierProductRepository supplierProductRepository) {
+    public SupplierProductService(SupplierProductRepository supplierProductRepository,
+                                  RequestCoalescer requestCoalescer,
+                                  ResponseByteCache responseByteCache,
+                                  MongoGuard mongoGuard,
+                                  CatalogCache catalogCache,
+                                  PartialUpdateService partialUpdateService) {
         this.supplierProductRepository = supplierProductRepository;
+        this.requestCoalescer = requestCoalescer;
+        this.responseByteCache = responseByteCache;
+        this.mongoGuard = mongoGuard;
+        this.catalogCache = catalogCache;
+        this.partialUpdateService = partialUpdateService;
     }
 
     public List<SupplierProductEntity> getAllSupplierProducts() {
-        return supplierProductRepository.findAll();
+        if (catalogCache.isWarm()) {
+            return catalogCache.getProducts();
+        }
+        return requestCoalescer.execute("SupplierProductRepository.findAll",
+                () -> mongoGuard.read("SupplierProductRepository.findAll", supplierProductRepository::findAll));
+    }
+
+    public List<SupplierProductSummaryDTO> getAllSupplierProductSummaries() {
+        if (catalogCache.isWarm()) {
+            return catalogCache.getProducts().stream().map(SupplierProductSummaryDTO::from).toList();
+        }
+        return requestCoalescer.execute("SupplierProductRepository.findAllProjectedBy",
+                () -> mongoGuard.read("SupplierProductRepository.findAllProjectedBy",
+                        supplierProductRepository::findAllProjectedBy));
+    }
+
+    public List<SupplierProductSummaryDTO> getSupplierProductSummaries(String email) {
+        if (catalogCache.isWarm()) {
+            return catalogCache.getProductsBySupplierEmail(email).stream().map(SupplierProductSummaryDTO::from).toList();
+        }
+        return requestCoalescer.execute("SupplierProductRepository.findSummaryBySupplierEmail",
+                () -> mongoGuard.read("SupplierProductRepository.findSummaryBySupplierEmail",
+                        () -> supplierProductRepository.findSummaryBySupplierEmail(email), email), email);
     }
 
     public SupplierProductEntity addSupplierProduct(SupplierProductRequestDTO productDTO) {
@@ -28,31 +79,47 @@ public class SupplierProductService {
         product.setQuantity(productDTO.getQuantity());
         product.setDescription(productDTO.getDescription());
         product.setImageUrl(productDTO.getImageUrl());
-        return supplierProductRepository.save(product);
+        SupplierProductEntity saved = mongoGuard.write("SupplierProductRepository.save",
+                () -> supplierProductRepository.save(product));
+        catalogCache.put(saved);
+        responseByteCache.invalidate(ResponseByteCache.SUPPLIER_PRODUCTS);
+        return saved;
     }
 
     public SupplierProductEntity updateSupplierProduct(String id, SupplierProductRequestDTO productDTO) {
-        return supplierProductRepository.findById(id)
-                .map(existingProduct -> {
-                    existingProduct.setProductName(productDTO.getProductName());
-                    existingProduct.setPrice(productDTO.getPrice());
-                    existingProduct.setQuantity(productDTO.getQuantity());
-                    existingProduct.setDescription(productDTO.getDescription());
-                    existingProduct.setImageUrl(productDTO.getImageUrl());
-                    return supplierProductRepository.save(existingProduct);
-                })
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        return patchSupplierProduct(id, partialUpdateService.fields(productDTO, WRITABLE), null).after();
+    }
+
+    public PartialUpdateService.Patched<SupplierProductEntity> patchSupplierProduct(String id, Map<String, ?> changes,
+                                                                                    Long expectedVersion) {
+        PartialUpdateService.Patched<SupplierProductEntity> patched = partialUpdateService.patch(
+                SupplierProductEntity.class, id, changes, WRITABLE, expectedVersion);
+        catalogCache.put(patched.after());
+        responseByteCache.invalidate(ResponseByteCache.SUPPLIER_PRODUCTS);
+        return patched;
     }
 
     public List<SupplierProductEntity> getSupplierProducts(String email) {
-        return supplierProductRepository.findBySupplierEmail(email);
+        if (catalogCache.isWarm()) {
+            return catalogCache.getProductsBySupplierEmail(email);
+        }
+        return requestCoalescer.execute("SupplierProductRepository.findBySupplierEmail",
+                () -> mongoGuard.read("SupplierProductRepository.findBySupplierEmail",
+                        () -> supplierProductRepository.findBySupplierEmail(email), email), email);
     }
 
     public void deleteSupplierProduct(String id) {
-        supplierProductRepository.deleteById(id);
+        mongoGuard.write("SupplierProductRepository.deleteById", () -> supplierProductRepository.deleteById(id));
+        catalogCache.removeProduct(id);
+        responseByteCache.invalidate(ResponseByteCache.SUPPLIER_PRODUCTS);
     }
 
     public List<SupplierProductEntity> getProductsBySupplierEmail(String email) {
-        return supplierProductRepository.findBySupplierEmail(email);
+        if (catalogCache.isWarm()) {
+            return catalogCache.getProductsBySupplierEmail(email);
+        }
+        return requestCoalescer.execute("SupplierProductRepository.findBySupplierEmail",
+                () -> mongoGuard.read("SupplierProductRepository.findBySupplierEmail",
+                        () -> supplierProductRepository.findBySupplierEmail(email), email), email);
     }
 }
\ No newline at end of file
@@ -1,21 +1,48 @@
 package com.example.festivo.service.supplierService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.observation.annotation.Observed;
 
 import com.example.festivo.dto.supplierDTO.SupplierRequestDTO;
 import com.example.festivo.entity.suplierEntity.SupplierEntity;
 import com.example.festivo.repository.supplierRepository.SupplierRepository;
+import com.example.festivo.service.catalogService.CatalogCache;
+import com.example.festivo.service.emailFilterService.EmailExistenceService;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
+import com.example.festivo.service.resilienceService.MongoGuard;
 
+@Observed
 @Service
 public class SupplierService {
 
+    // The email is the supplier's key and login; it is not changed through an update
+    private static final Set<String> WRITABLE = Set.of("companyName", "category", "address");
+
     @Autowired
     private SupplierRepository supplierRepository;
 
+    @Autowired
+    private EmailExistenceService emailExistenceService;
+
+    @Autowired
+    private MongoGuard mongoGuard;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+
     public SupplierEntity createSupplier(SupplierRequestDTO supplierRequestDTO) {
         SupplierEntity supplier = new SupplierEntity();
 
@@ -26,32 +53,56 @@ public class SupplierService {
         supplier.setAddress(supplierRequestDTO.getAddress());
 
         // Save the supplier to the database
-        return supplierRepository.save(supplier);
+        SupplierEntity saved;
+        try {
+            saved = mongoGuard.write("SupplierRepository.save", () -> supplierRepository.save(supplier));
+        } catch (DuplicateKeyException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already registered");
+        }
+        catalogCache.put(saved);
+        emailExistenceService.supplierAdded(saved.getSupplierEmail());
+        return saved;
     }
 
     public boolean checkEmail(String email) {
-        return supplierRepository.findBySupplierEmail(email).isPresent();
+        return emailExistenceService.supplierEmailExists(email);
     }
 
     public SupplierEntity getSupplierByEmail(String email) {
-        return supplierRepository.findBySupplierEmail(email)
+        if (catalogCache.isWarm()) {
+            Optional<SupplierEntity> cached = catalogCache.getSupplierByEmail(email);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            // A miss proves nothing: the supplier may have been created on another node since the last sync
+        }
+        SupplierEntity supplier = mongoGuard.read("SupplierRepository.findBySupplierEmail",
+                        () -> supplierRepository.findBySupplierEmail(email), email)
                 .orElseThrow(() -> new RuntimeException("Supplier not found"));
+        if (catalogCache.isWarm()) {
+            catalogCache.put(supplier);
+        }
+        return supplier;
     }
 
     public SupplierEntity updatedSupplierEntity(String email, SupplierRequestDTO supplierRequestDTO) {
-        SupplierEntity supplier = supplierRepository.findBySupplierEmail(email)
-                .orElseThrow(() -> new RuntimeException("Supplier not found"));
-        // Update the fields of the supplier entity with the values from the DTO
-        supplier.setCompanyName(supplierRequestDTO.getCompanyName());
-        supplier.setCategory(supplierRequestDTO.getCategory());
-        supplier.setAddress(supplierRequestDTO.getAddress());
+        return patchSupplierEntity(email, partialUpdateService.fields(supplierRequestDTO, WRITABLE), null).after();
+    }
 
-        // Save the updated supplier entity to the database
-        return supplierRepository.save(supplier);
+    public PartialUpdateService.Patched<SupplierEntity> patchSupplierEntity(String email, Map<String, ?> changes,
+                                                                            Long expectedVersion) {
+        PartialUpdateService.Patched<SupplierEntity> patched = partialUpdateService.patchBy(SupplierEntity.class,
+                "supplierEmail", email, changes, WRITABLE, expectedVersion);
+        catalogCache.put(patched.after());
+        return patched;
     }
 
     public void deleteSupplierEntity(String email) {
-        supplierRepository.deleteBySupplierEmail(email);
+        if (mongoGuard.write("SupplierRepository.deleteBySupplierEmail",
+                () -> supplierRepository.deleteBySupplierEmail(email)) > 0) {
+            catalogCache.removeSupplierByEmail(email);
+            emailExistenceService.supplierRemoved(email);
+        }
     }
 
 }
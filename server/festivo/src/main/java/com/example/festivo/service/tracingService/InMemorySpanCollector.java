@@ -0,0 +1,95 @@
+package com.example.festivo.service.tracingService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.festivo.dto.traceDTO.SpanSummary;
+import com.example.festivo.dto.traceDTO.TraceSummary;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * In-process span collector. Boot's tracing auto-configuration hands every
+ * sampled span to this exporter, which keeps the most recent traces so a
+ * slow request can be broken down without an external tracing backend.
+ */
+@Service
+public class InMemorySpanCollector implements SpanExporter {
+
+    private final Map<String, List<SpanSummary>> traces;
+
+    public InMemorySpanCollector(@Value("${festivo.tracing.in-memory.max-traces:500}") int maxTraces) {
+        this.traces = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<SpanSummary>> eldest) {
+                return size() > maxTraces;
+            }
+        };
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        synchronized (traces) {
+            for (SpanData span : spans) {
+                traces.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>()).add(toSummary(span));
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    public List<TraceSummary> getRecentTraces() {
+        List<TraceSummary> result = new ArrayList<>();
+        synchronized (traces) {
+            traces.forEach((traceId, spans) -> {
+                SpanSummary root = spans.stream()
+                        .filter(s -> s.getParentSpanId() == null)
+                        .findFirst()
+                        .orElseGet(() -> spans.stream().max(Comparator.comparingLong(SpanSummary::getDurationMicros)).orElseThrow());
+                result.add(new TraceSummary(traceId, root.getName(), spans.size(),
+                        root.getStartEpochMicros(), root.getDurationMicros()));
+            });
+        }
+        result.sort(Comparator.comparingLong(TraceSummary::getStartEpochMicros).reversed());
+        return result;
+    }
+
+    public List<SpanSummary> getTrace(String traceId) {
+        List<SpanSummary> spans;
+        synchronized (traces) {
+            spans = new ArrayList<>(traces.getOrDefault(traceId, List.of()));
+        }
+        spans.sort(Comparator.comparingLong(SpanSummary::getStartEpochMicros));
+        return spans;
+    }
+
+    private static SpanSummary toSummary(SpanData span) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        String parent = span.getParentSpanContext().isValid() ? span.getParentSpanId() : null;
+        return new SpanSummary(span.getTraceId(), span.getSpanId(), parent, span.getName(),
+                span.getKind().name(),
+                span.getStartEpochNanos() / 1_000,
+                (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000,
+                span.getStatus().getStatusCode().name(),
+                attributes);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -1,21 +1,34 @@
 package com.example.festivo.service.userservice;
 
 import com.example.festivo.dto.userdto.ReqRes;
+import com.example.festivo.dto.userdto.UserSummaryDTO;
 import com.example.festivo.entity.userentity.OurUsers;
 import com.example.festivo.repository.userrepository.UsersRepo;
+import com.example.festivo.service.emailFilterService.EmailExistenceService;
+import com.example.festivo.service.partialUpdateService.PartialUpdateService;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.observation.annotation.Observed;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+@Observed
 @Service
 public class UserManagementService {
 
+    private static final Set<String> USER_WRITABLE = Set.of("email", "name", "phoneNumber", "role", "gender", "password");
+
     @Autowired
     private UsersRepo usersRepo;
 
@@ -28,9 +41,21 @@ public class UserManagementService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EmailExistenceService emailExistenceService;
+
+    @Autowired
+    private PartialUpdateService partialUpdateService;
+
     public ReqRes register(ReqRes registrationRequest) {
         ReqRes resp = new ReqRes();
         try {
+            if (emailExistenceService.userEmailExists(registrationRequest.getEmail())) {
+                resp.setStatusCode(409);
+                resp.setError("Email already registered");
+                return resp;
+            }
+
             OurUsers ourUser = new OurUsers();
             ourUser.setEmail(registrationRequest.getEmail());
             ourUser.setPhoneNumber(registrationRequest.getPhoneNumber());
@@ -39,12 +64,16 @@ public class UserManagementService {
             ourUser.setGender(registrationRequest.getGender());
             ourUser.setPassword(passwordEncoder.encode(registrationRequest.getPassword()));
             OurUsers ourUsersResult = usersRepo.save(ourUser);
+            emailExistenceService.userAdded(ourUsersResult.getEmail());
 
             if (ourUsersResult.getId() != null) {
                 resp.setOurUsers(ourUsersResult);
                 resp.setMessage("User Saved Successfully");
                 resp.setStatusCode(200);
             }
+        } catch (DuplicateKeyException e) {
+            resp.setStatusCode(409);
+            resp.setError("Email already registered");
         } catch (Exception e) {
             resp.setStatusCode(500);
             resp.setError(e.getMessage());
@@ -119,6 +148,25 @@ public class UserManagementService {
         return reqRes;
     }
 
+    public ReqRes getAllUserSummaries() {
+        ReqRes reqRes = new ReqRes();
+        try {
+            List<UserSummaryDTO> result = usersRepo.findAllProjectedBy();
+            if (!result.isEmpty()) {
+                reqRes.setUserSummaryList(result);
+                reqRes.setStatusCode(200);
+                reqRes.setMessage("Successful");
+            } else {
+                reqRes.setStatusCode(404);
+                reqRes.setMessage("No users found");
+            }
+        } catch (Exception e) {
+            reqRes.setStatusCode(500);
+            reqRes.setMessage("Error occurred: " + e.getMessage());
+        }
+        return reqRes;
+    }
+
     public ReqRes getUsersById(String id) {
         ReqRes reqRes = new ReqRes();
         try {
@@ -139,6 +187,7 @@ public class UserManagementService {
             Optional<OurUsers> usersOptional = usersRepo.findById(userId);
             if (usersOptional.isPresent()) {
                 usersRepo.deleteById(userId);
+                emailExistenceService.userRemoved(usersOptional.get().getEmail());
                 reqRes.setStatusCode(200);
                 reqRes.setMessage("User deleted successfully");
             } else {
@@ -153,28 +202,43 @@ public class UserManagementService {
     }
 
     public ReqRes updateUser(String userId, OurUsers updateUser) {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("email", updateUser.getEmail());
+        changes.put("name", updateUser.getName());
+        changes.put("phoneNumber", updateUser.getPhoneNumber());
+        changes.put("role", updateUser.getRole());
+        changes.put("password", updateUser.getPassword());
+        return patchUser(userId, changes, null);
+    }
+
+    public ReqRes patchUser(String userId, Map<String, ?> changes, Long expectedVersion) {
         ReqRes reqRes = new ReqRes();
         try {
-            Optional<OurUsers> usersOptional = usersRepo.findById(userId);
-            if (usersOptional.isPresent()) {
-                OurUsers existingUser = usersOptional.get();
-                existingUser.setEmail(updateUser.getEmail());
-                existingUser.setName(updateUser.getName());
-                existingUser.setPhoneNumber(updateUser.getPhoneNumber());
-                existingUser.setRole(updateUser.getRole());
-
-                if (updateUser.getPassword() != null && !updateUser.getPassword().isEmpty()) {
-                    existingUser.setPassword(passwordEncoder.encode(updateUser.getPassword()));
-                }
-
-                OurUsers savedUser = usersRepo.save(existingUser);
-                reqRes.setOurUsers(savedUser);
-                reqRes.setStatusCode(200);
-                reqRes.setMessage("User updated successfully");
-            } else {
-                reqRes.setStatusCode(404);
-                reqRes.setMessage("User not found for update");
+            Map<String, Object> update = new HashMap<>(changes);
+            // An empty password means "keep the current one"; anything else is stored hashed
+            Object password = update.remove("password");
+            if (password != null && !password.toString().isEmpty()) {
+                update.put("password", passwordEncoder.encode(password.toString()));
+            }
+
+            PartialUpdateService.Patched<OurUsers> patched = partialUpdateService.patch(OurUsers.class, userId,
+                    update, USER_WRITABLE, expectedVersion);
+            String previousEmail = patched.before().getEmail();
+            OurUsers savedUser = patched.after();
+            // Also when the user had no email before; both calls ignore null
+            if (!Objects.equals(previousEmail, savedUser.getEmail())) {
+                emailExistenceService.userRemoved(previousEmail);
+                emailExistenceService.userAdded(savedUser.getEmail());
             }
+            reqRes.setOurUsers(savedUser);
+            reqRes.setStatusCode(200);
+            reqRes.setMessage("User updated successfully");
+        } catch (ResponseStatusException e) {
+            reqRes.setStatusCode(e.getStatusCode().value());
+            reqRes.setMessage(e.getStatusCode().value() == 404 ? "User not found for update" : e.getReason());
+        } catch (DuplicateKeyException e) {
+            reqRes.setStatusCode(409);
+            reqRes.setMessage("Email already registered");
         } catch (Exception e) {
             reqRes.setStatusCode(500);
             reqRes.setMessage("Error occurred while updating user: " + e.getMessage());
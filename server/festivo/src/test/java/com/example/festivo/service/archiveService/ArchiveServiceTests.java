@@ -0,0 +1,88 @@
+package com.example.festivo.service.archiveService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.paymententity.Payment;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.service.rollupService.RollupService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ArchiveServiceTests {
+
+    private MongoTemplate mongoTemplate;
+    private ArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(Payment.class)).thenReturn("payment");
+        when(mongoTemplate.getCollectionName(SupplierReq.class)).thenReturn("supplierOrderRequests");
+        when(mongoTemplate.getCollectionName(SupplierPaymentEntity.class)).thenReturn("supplierPayments");
+        when(mongoTemplate.getCollectionName(EventTheme.class)).thenReturn("eventhemes");
+        service = new ArchiveService(mongoTemplate, mock(RollupService.class), new SimpleMeterRegistry(), true,
+                Duration.ofDays(90), Duration.ofDays(730), 500, 200);
+    }
+
+    @Test
+    void plainReadsOnlyTouchTheHotCollection() {
+        Payment hot = payment("hot");
+        when(mongoTemplate.find(any(Query.class), eq(Payment.class))).thenReturn(List.of(hot));
+
+        assertEquals(List.of(hot), service.find(new Query(), Payment.class, false));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Payment.class), anyString());
+        assertEquals(List.of("payment"), service.collections(Payment.class, false));
+    }
+
+    @Test
+    void historyReadsAppendTheArchive() {
+        Payment hot = payment("hot");
+        Payment cold = payment("cold");
+        when(mongoTemplate.find(any(Query.class), eq(Payment.class))).thenReturn(List.of(hot));
+        when(mongoTemplate.find(any(Query.class), eq(Payment.class), eq("payment_archive"))).thenReturn(List.of(cold));
+
+        assertEquals(List.of(hot, cold), service.find(new Query(), Payment.class, true));
+        assertEquals(List.of("payment", "payment_archive"), service.collections(Payment.class, true));
+    }
+
+    @Test
+    void collectionsWithoutAnArchiveIgnoreHistory() {
+        assertEquals(List.of("eventhemes"), service.collections(EventTheme.class, true));
+
+        service.find(new Query(), EventTheme.class, true);
+        verify(mongoTemplate, never()).find(any(Query.class), eq(EventTheme.class), anyString());
+    }
+
+    @Test
+    void archivedLookupReadsTheArchive() {
+        Payment cold = payment("cold");
+        when(mongoTemplate.findById("cold", Payment.class, "payment_archive")).thenReturn(cold);
+
+        assertEquals(cold, service.findArchived("cold", Payment.class).orElseThrow());
+        assertTrue(service.findArchived("missing", Payment.class).isEmpty());
+    }
+
+    private static Payment payment(String id) {
+        Payment payment = new Payment();
+        payment.setId(id);
+        return payment;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.festivo.service.availabilityService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.festivo.dto.availabilityDTO.AvailabilityDTO;
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.supplierReqOrderEntity.SupplierReq;
+import com.example.festivo.entity.userentity.Event;
+import com.example.festivo.service.catalogService.CatalogCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AvailabilityServiceTests {
+
+    private MongoTemplate mongoTemplate;
+    private AvailabilityService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        service = new AvailabilityService(mongoTemplate, mock(CatalogCache.class), new ObjectMapper(),
+                new SimpleMeterRegistry(), ZoneId.of("UTC"), Duration.ofHours(6));
+        // Nothing stored yet, so the reload just marks the index as loaded
+        service.reload();
+    }
+
+    @Test
+    void sameThemeNameUnderAnotherEventTypeIsFree() {
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+        service.bookEvent(event("b", "Birthday", "Theme 1", "2027-3-14"), () -> null);
+
+        ResponseStatusException conflict = assertThrows(ResponseStatusException.class,
+                () -> service.bookEvent(event("c", "Wedding", "Theme 1", "2027-3-14"), () -> null));
+        assertEquals(HttpStatus.CONFLICT, conflict.getStatusCode());
+    }
+
+    @Test
+    void availabilityListsThemesPerEventType() {
+        when(mongoTemplate.find(any(Query.class), eq(EventTheme.class))).thenReturn(List.of(
+                theme("Wedding", "Theme 1"), theme("Birthday", "Theme 1")));
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+
+        AvailabilityDTO availability = service.availability("2027-3-14", null, null, null);
+
+        assertEquals(List.of(new AvailabilityDTO.Theme("Wedding", "Theme 1")), availability.getBookedThemes());
+        assertEquals(List.of(new AvailabilityDTO.Theme("Birthday", "Theme 1")), availability.getFreeThemes());
+    }
+
+    @Test
+    void failedWriteGivesTheOldWindowBack() {
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+
+        assertThrows(IllegalStateException.class, () -> service.bookEvent(
+                event("a", "Wedding", "Theme 1", "2027-3-15"), () -> {
+                    throw new IllegalStateException("write failed");
+                }));
+
+        assertThrows(ResponseStatusException.class,
+                () -> service.bookEvent(event("b", "Wedding", "Theme 1", "2027-3-14"), () -> null));
+        service.bookEvent(event("c", "Wedding", "Theme 1", "2027-3-15"), () -> null);
+    }
+
+    @Test
+    void failedWriteKeepsABookingSyncedMeanwhile() {
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+
+        // The change stream delivers a newer version of the event while this write is failing
+        assertThrows(IllegalStateException.class, () -> service.bookEvent(
+                event("a", "Wedding", "Theme 1", "2027-3-15"), () -> {
+                    service.syncEvent("a", event("a", "Wedding", "Theme 1", "2027-3-16"));
+                    throw new IllegalStateException("write failed");
+                }));
+
+        service.bookEvent(event("b", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+        assertThrows(ResponseStatusException.class,
+                () -> service.bookEvent(event("c", "Wedding", "Theme 1", "2027-3-16"), () -> null));
+    }
+
+    @Test
+    void acceptedSupplierMovesWithItsEvent() {
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+        service.bookOrder(order("o1", "a", "caterer@festivo.lk"), () -> null);
+
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-20"), () -> null);
+
+        service.bookEvent(event("b", "Birthday", "Theme 2", "2027-3-14"), () -> null);
+        service.bookOrder(order("o2", "b", "caterer@festivo.lk"), () -> null);
+        service.bookEvent(event("c", "Birthday", "Theme 3", "2027-3-20"), () -> null);
+        assertThrows(ResponseStatusException.class,
+                () -> service.bookOrder(order("o3", "c", "caterer@festivo.lk"), () -> null));
+    }
+
+    @Test
+    void putIsBookedWithoutReadingTheEvent() {
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("eventType", "Wedding");
+        changes.put("eventTheme", "Theme 1");
+        changes.put("eventDate", "2027-3-15");
+        changes.put("eventStart", null);
+        changes.put("eventEnd", null);
+
+        service.bookEventUpdate("a", changes, () -> null);
+
+        verify(mongoTemplate, never()).findById(any(), eq(Event.class));
+        service.bookEvent(event("b", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+        assertThrows(ResponseStatusException.class,
+                () -> service.bookEvent(event("c", "Wedding", "Theme 1", "2027-3-15"), () -> null));
+    }
+
+    @Test
+    void patchThatKeepsTheWindowSkipsTheRead() {
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+
+        service.bookEventUpdate("a", new HashMap<>(Map.of("eventDate", "2027-3-14")), () -> null);
+        service.bookEventUpdate("a", new HashMap<>(Map.of("eventType", "Wedding", "eventTheme", "Theme 1")), () -> null);
+
+        verify(mongoTemplate, never()).findById(any(), eq(Event.class));
+    }
+
+    @Test
+    void patchThatMovesTheWindowReadsAndRebooks() {
+        service.bookEvent(event("a", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+        when(mongoTemplate.findById("a", Event.class)).thenReturn(event("a", "Wedding", "Theme 1", "2027-3-14"));
+
+        service.bookEventUpdate("a", new HashMap<>(Map.of("eventDate", "2027-3-15")), () -> null);
+
+        verify(mongoTemplate).findById("a", Event.class);
+        service.bookEvent(event("b", "Wedding", "Theme 1", "2027-3-14"), () -> null);
+    }
+
+    private static Event event(String id, String type, String theme, String date) {
+        Event event = new Event();
+        event.setId(id);
+        event.setEventType(type);
+        event.setEventTheme(theme);
+        event.setEventDate(date);
+        return event;
+    }
+
+    private static EventTheme theme(String eventName, String themeName) {
+        EventTheme theme = new EventTheme();
+        theme.setEventName(eventName);
+        theme.setThemeName(themeName);
+        return theme;
+    }
+
+    private static SupplierReq order(String id, String eventId, String supplier) {
+        SupplierReq order = new SupplierReq();
+        order.setId(id);
+        order.setEventId(eventId);
+        order.setStatus("ACCEPTED");
+        order.setAcceptedSupplier(supplier);
+        return order;
+    }
+}
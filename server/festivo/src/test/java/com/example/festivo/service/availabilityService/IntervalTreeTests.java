@@ -0,0 +1,79 @@
+package com.example.festivo.service.availabilityService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntervalTreeTests {
+
+    private record Interval(long start, long end, String id) {
+        boolean overlaps(long from, long to) {
+            return start < to && end > from;
+        }
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(10, 20, "a");
+
+        assertNull(tree.findOverlap(0, 10));
+        assertNull(tree.findOverlap(20, 30));
+        assertEquals("a", tree.findOverlap(19, 21));
+        assertEquals("a", tree.findOverlap(12, 13));
+    }
+
+    @Test
+    void removeOnlyMatchesStartAndId() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(10, 20, "a");
+        tree.add(10, 30, "b");
+
+        assertFalse(tree.remove(10, "c"));
+        assertFalse(tree.remove(11, "a"));
+        assertTrue(tree.remove(10, "a"));
+        assertEquals(1, tree.size());
+        assertEquals("b", tree.findOverlap(25, 26));
+    }
+
+    // Random adds, removes and lookups, each lookup checked against a linear scan
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(7);
+        IntervalTree tree = new IntervalTree();
+        List<Interval> live = new ArrayList<>();
+        int nextId = 0;
+
+        for (int step = 0; step < 20_000; step++) {
+            if (live.isEmpty() || random.nextInt(4) != 0) {
+                long start = random.nextInt(10_000);
+                Interval added = new Interval(start, start + 1 + random.nextInt(300), "i" + nextId++);
+                tree.add(added.start(), added.end(), added.id());
+                live.add(added);
+            } else {
+                Interval removed = live.remove(random.nextInt(live.size()));
+                assertTrue(tree.remove(removed.start(), removed.id()), "step " + step);
+            }
+            assertEquals(live.size(), tree.size());
+
+            long from = random.nextInt(10_400);
+            long to = from + 1 + random.nextInt(200);
+            String found = tree.findOverlap(from, to);
+            List<String> expected = live.stream().filter(i -> i.overlaps(from, to)).map(Interval::id).toList();
+            if (expected.isEmpty()) {
+                assertNull(found, "step " + step);
+            } else {
+                assertNotNull(found, "step " + step);
+                assertTrue(expected.contains(found), "step " + step);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.festivo.service.catalogService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.example.festivo.entity.suplierEntity.SupplierEntity;
+import com.example.festivo.service.responseCacheService.ResponseByteCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CatalogCacheTests {
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(any())).thenAnswer(call -> ((Class<?>) call.getArgument(0)).getSimpleName());
+    }
+
+    @Test
+    void warmReconcileOnlyQueriesTheDelta() {
+        CatalogCache cache = cache(Duration.ofHours(1));
+        when(mongoTemplate.findAll(SupplierEntity.class)).thenReturn(List.of(supplier("a", "a@festivo.lk")));
+
+        cache.reconcile();
+        cache.reconcile();
+        cache.reconcile();
+
+        verify(mongoTemplate, times(1)).findAll(SupplierEntity.class);
+        // One lastModified query per reconcile, no id scan
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(SupplierEntity.class));
+    }
+
+    @Test
+    void sweepDropsRowsDeletedInMongo() {
+        CatalogCache cache = cache(Duration.ZERO);
+        when(mongoTemplate.findAll(SupplierEntity.class)).thenReturn(List.of(
+                supplier("a", "a@festivo.lk"), supplier("b", "b@festivo.lk")));
+        cache.reconcile();
+
+        when(mongoTemplate.find(any(Query.class), eq(SupplierEntity.class))).thenReturn(List.of(supplier("a", "a@festivo.lk")));
+        cache.reconcile();
+
+        assertEquals(List.of("a"), cache.getSuppliers().stream().map(SupplierEntity::getId).toList());
+        assertTrue(cache.getSupplierByEmail("b@festivo.lk").isEmpty());
+    }
+
+    @Test
+    void emailChangeMovesTheKey() {
+        CatalogCache cache = cache(Duration.ofHours(1));
+        cache.put(supplier("a", "old@festivo.lk"));
+        SupplierEntity renamed = supplier("a", "new@festivo.lk");
+        renamed.setLastModified(new Date(1_000));
+        cache.put(renamed);
+
+        assertTrue(cache.getSupplierByEmail("old@festivo.lk").isEmpty());
+        assertEquals("a", cache.getSupplierByEmail("new@festivo.lk").orElseThrow().getId());
+    }
+
+    private CatalogCache cache(Duration sweepInterval) {
+        return new CatalogCache(mongoTemplate, new MappingJackson2SmileHttpMessageConverter(), mock(ResponseByteCache.class),
+                new SimpleMeterRegistry(), dir.resolve("catalog.bin"), true, sweepInterval);
+    }
+
+    private static SupplierEntity supplier(String id, String email) {
+        SupplierEntity supplier = new SupplierEntity();
+        supplier.setId(id);
+        supplier.setSupplierEmail(email);
+        supplier.setLastModified(new Date(0));
+        return supplier;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.festivo.service.coalescingService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestCoalescerTests {
+
+    private static final String METHOD = "EventThemeRepository.findAll";
+    private static final int FOLLOWERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment();
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        // As Boot sets it up, so "50ms" converts to a Duration
+        environment.setConversionService(new ApplicationConversionService());
+        coalescer = new RequestCoalescer(environment, meterRegistry, Duration.ofSeconds(5));
+        executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<List<String>>> results = inFlight(() -> {
+            loads.incrementAndGet();
+            await(release);
+            return List.of("Rose Garden");
+        });
+
+        release.countDown();
+
+        for (Future<List<String>> result : results) {
+            assertEquals(List.of("Rose Garden"), result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loaderFailureReachesEveryWaiter() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Mongo down");
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<List<String>>> results = inFlight(() -> {
+            await(release);
+            throw failure;
+        });
+
+        release.countDown();
+
+        for (Future<List<String>> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+    }
+
+    @Test
+    void nothingIsKeptAfterTheCall() {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute(METHOD, loads::incrementAndGet, "Wedding");
+        coalescer.execute(METHOD, loads::incrementAndGet, "Wedding");
+        coalescer.execute(METHOD, loads::incrementAndGet, "Birthday");
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void followerGivesUpAfterItsTimeout() throws Exception {
+        environment.setProperty("festivo.coalescing.timeouts." + METHOD, "50ms");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> coalescer.execute(METHOD, () -> {
+            loading.countDown();
+            await(release);
+            return List.of();
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        RuntimeException timeout = assertThrows(RuntimeException.class,
+                () -> coalescer.execute(METHOD, List::of));
+        assertTrue(timeout.getMessage().startsWith("Timed out"));
+        release.countDown();
+    }
+
+    // Starts a leader running loader, then FOLLOWERS identical calls, and returns once all of them are waiting
+    private List<Future<List<String>>> inFlight(Supplier<List<String>> loader) throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute(METHOD, () -> {
+            loading.countDown();
+            return loader.get();
+        })));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(executor.submit(() -> coalescer.execute(METHOD, () -> {
+                throw new AssertionError("follower loaded");
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("festivo.coalescing.calls", "method", METHOD, "role", "follower").count() < FOLLOWERS) {
+            assertTrue(System.nanoTime() < deadline, "followers did not join");
+            Thread.sleep(1);
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.festivo.service.emailFilterService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CountingBloomFilterTests {
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        CountingBloomFilter filter = new CountingBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("user" + i + "@festivo.lk");
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@festivo.lk"));
+        }
+    }
+
+    @Test
+    void addingTwiceCountsOnce() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+
+        assertTrue(filter.add("a@festivo.lk"));
+        assertFalse(filter.add("a@festivo.lk"));
+        assertTrue(filter.remove("a@festivo.lk"));
+
+        assertFalse(filter.mightContain("a@festivo.lk"));
+        assertEquals(0, filter.size());
+    }
+
+    // A tiny filter so plenty of never-added values look present
+    @Test
+    void removingAFalsePositiveLeavesMembersAlone() {
+        CountingBloomFilter filter = new CountingBloomFilter(10, 0.5);
+        List<String> members = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            members.add("member" + i + "@festivo.lk");
+            filter.add(members.get(i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1_000; i++) {
+            String stranger = "stranger" + i + "@festivo.lk";
+            if (filter.mightContain(stranger)) {
+                falsePositives++;
+                assertFalse(filter.remove(stranger));
+            }
+        }
+
+        assertTrue(falsePositives > 0);
+        for (String member : members) {
+            assertTrue(filter.mightContain(member), member);
+        }
+        assertEquals(members.size(), filter.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.festivo.service.emailFilterService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.example.festivo.repository.supplierRepository.SupplierRepository;
+import com.example.festivo.repository.userrepository.UsersRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmailExistenceServiceTests {
+
+    private MongoTemplate mongoTemplate;
+    private UsersRepo usersRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailExistenceService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        usersRepo = mock(UsersRepo.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new EmailExistenceService(mongoTemplate, usersRepo, mock(SupplierRepository.class), meterRegistry,
+                1_000, 0.01);
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("suppliers"))).thenReturn(Stream.empty());
+    }
+
+    @Test
+    void emailAddedDuringTheScanIsCountedOnce() {
+        scanUsers(Stream.of(user("a@festivo.lk")).peek(doc -> service.userAdded("a@festivo.lk")));
+        service.loadFilters();
+
+        service.userRemoved("a@festivo.lk");
+
+        assertFalse(service.userEmailExists("a@festivo.lk"));
+        assertEquals(1, lookups("filtered"));
+    }
+
+    @Test
+    void emailDeletedBeforeTheScanReachedItStaysRemoved() {
+        // The cursor already holds the row when the delete lands
+        scanUsers(Stream.of(user("a@festivo.lk"), user("b@festivo.lk"))
+                .peek(doc -> {
+                    if (doc.getString("email").equals("a@festivo.lk")) {
+                        service.userRemoved("a@festivo.lk");
+                    }
+                }));
+        when(usersRepo.existsByEmail("b@festivo.lk")).thenReturn(true);
+        service.loadFilters();
+
+        assertFalse(service.userEmailExists("a@festivo.lk"));
+        assertEquals(1, lookups("filtered"));
+        assertTrue(service.userEmailExists("b@festivo.lk"));
+    }
+
+    @Test
+    void emailStillOnAnotherRowIsKept() {
+        scanUsers(Stream.of(user("a@festivo.lk"), user("a@festivo.lk")));
+        service.loadFilters();
+        when(usersRepo.existsByEmail("a@festivo.lk")).thenReturn(true);
+
+        service.userRemoved("a@festivo.lk");
+
+        assertTrue(service.userEmailExists("a@festivo.lk"));
+        assertEquals(1, lookups("confirmed"));
+    }
+
+    @Test
+    void registeredAgainAfterADeleteIsFound() {
+        scanUsers(Stream.of(user("a@festivo.lk")));
+        service.loadFilters();
+
+        service.userRemoved("a@festivo.lk");
+        service.userAdded("a@festivo.lk");
+        when(usersRepo.existsByEmail("a@festivo.lk")).thenReturn(true);
+
+        assertTrue(service.userEmailExists("a@festivo.lk"));
+    }
+
+    private void scanUsers(Stream<Document> users) {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("users"))).thenReturn(users);
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("festivo.email.filter.lookups", "type", "user", "result", result).count();
+    }
+
+    private static Document user(String email) {
+        return new Document("email", email);
+    }
+}
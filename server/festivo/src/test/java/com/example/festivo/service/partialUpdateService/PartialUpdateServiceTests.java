@@ -0,0 +1,153 @@
+package com.example.festivo.service.partialUpdateService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.festivo.entity.userentity.Event;
+import com.example.festivo.service.resilienceService.MongoGuard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+
+class PartialUpdateServiceTests {
+
+    private static final Set<String> WRITABLE = Set.of("eventName", "eventTheme", "specialRequest");
+
+    private MongoCollection<Document> collection;
+    private PartialUpdateService service;
+    private final String id = new ObjectId().toHexString();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        collection = mock(MongoCollection.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollectionName(Event.class)).thenReturn("event");
+        when(mongoTemplate.getCollection("event")).thenReturn(collection);
+
+        MongoGuard mongoGuard = mock(MongoGuard.class);
+        when(mongoGuard.write(anyString(), any(Supplier.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1, Supplier.class).get());
+        service = new PartialUpdateService(mongoTemplate, new ObjectMapper(), mongoGuard);
+    }
+
+    @Test
+    void fieldOutsideTheAllowListIsRejectedBeforeAnyWrite() {
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> service.patch(Event.class, id, Map.of("noOfGuest", 40), WRITABLE, null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        verify(collection, never()).findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class));
+    }
+
+    @Test
+    void nullUnsetsAndEverythingElseIsSet() {
+        stored(new Document("_id", new ObjectId(id)).append("eventName", "Old").append("specialRequest", "Balloons"));
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("eventName", "New");
+        changes.put("specialRequest", null);
+
+        PartialUpdateService.Patched<Event> patched = service.patch(Event.class, id, changes, WRITABLE, null);
+
+        Document update = lastUpdate();
+        Document set = update.get("$set", Document.class);
+        assertEquals("New", set.get("eventName"));
+        assertTrue(set.containsKey("lastModified"));
+        assertEquals(new Document("specialRequest", ""), update.get("$unset", Document.class));
+        assertEquals("Old", patched.before().getEventName());
+        assertEquals("New", patched.after().getEventName());
+        assertNull(patched.after().getSpecialRequest());
+        assertEquals(patched.version(), patched.after().getLastModified().getTime());
+    }
+
+    @Test
+    void ifMatchGoesIntoTheFilter() {
+        stored(new Document("_id", new ObjectId(id)));
+
+        service.patch(Event.class, id, Map.of("eventName", "New"), WRITABLE, 1234L);
+
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).findOneAndUpdate(filter.capture(), any(Bson.class), any(FindOneAndUpdateOptions.class));
+        assertEquals(new Date(1234L), ((Document) filter.getValue()).get("lastModified"));
+    }
+
+    @Test
+    void staleIfMatchIs412AndAMissingDocument404() {
+        stored(null);
+        when(collection.countDocuments(any(Bson.class))).thenReturn(1L);
+        ResponseStatusException stale = assertThrows(ResponseStatusException.class,
+                () -> service.patch(Event.class, id, Map.of("eventName", "New"), WRITABLE, 1234L));
+        assertEquals(HttpStatus.PRECONDITION_FAILED, stale.getStatusCode());
+
+        when(collection.countDocuments(any(Bson.class))).thenReturn(0L);
+        ResponseStatusException missing = assertThrows(ResponseStatusException.class,
+                () -> service.patch(Event.class, id, Map.of("eventName", "New"), WRITABLE, 1234L));
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+    }
+
+    @Test
+    void putFieldsKeepNullsButOnlyWritableOnes() {
+        Event event = new Event();
+        event.setEventName("Wedding");
+        event.setNoOfGuest(40);
+
+        Map<String, Object> fields = service.fields(event, WRITABLE);
+
+        assertEquals(WRITABLE, fields.keySet());
+        assertEquals("Wedding", fields.get("eventName"));
+        assertTrue(fields.containsKey("eventTheme"));
+        assertFalse(fields.containsKey("noOfGuest"));
+    }
+
+    @Test
+    void etagRoundTripsThroughIfMatch() {
+        assertEquals(1234L, PartialUpdateService.version(PartialUpdateService.etag(1234L)));
+        assertEquals(1234L, PartialUpdateService.version("W/\"1234\""));
+        assertNull(PartialUpdateService.version(null));
+        assertThrows(ResponseStatusException.class, () -> PartialUpdateService.version("\"yesterday\""));
+    }
+
+    private void stored(Document before) {
+        when(collection.findOneAndUpdate(any(Bson.class), any(Bson.class), any(FindOneAndUpdateOptions.class)))
+                .thenReturn(before);
+    }
+
+    private Document lastUpdate() {
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(collection).findOneAndUpdate(any(Bson.class), update.capture(), any(FindOneAndUpdateOptions.class));
+        return (Document) update.getValue();
+    }
+}
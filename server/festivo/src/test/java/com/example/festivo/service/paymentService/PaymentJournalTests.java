@@ -0,0 +1,105 @@
+package com.example.festivo.service.paymentService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PaymentJournalTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysEverythingAfterTheCheckpoint() throws IOException {
+        try (PaymentJournal journal = new PaymentJournal(dir, Long.MAX_VALUE)) {
+            long first = append(journal, "one");
+            append(journal, "two");
+            journal.checkpoint(first);
+        }
+
+        try (PaymentJournal journal = new PaymentJournal(dir, Long.MAX_VALUE)) {
+            assertEquals(List.of("two"), payloads(journal.readUnflushed()));
+        }
+    }
+
+    @Test
+    void cutsOffATornTail() throws IOException {
+        try (PaymentJournal journal = new PaymentJournal(dir, Long.MAX_VALUE)) {
+            append(journal, "one");
+        }
+        long intact = Files.size(journal());
+        // Header of a record whose payload never made it to disk
+        Files.write(journal(), ByteBuffer.allocate(8).putInt(100).putInt(0).array(), StandardOpenOption.APPEND);
+
+        try (PaymentJournal journal = new PaymentJournal(dir, Long.MAX_VALUE)) {
+            assertEquals(List.of("one"), payloads(journal.readUnflushed()));
+            assertEquals(intact, Files.size(journal()));
+            append(journal, "two");
+        }
+
+        try (PaymentJournal journal = new PaymentJournal(dir, Long.MAX_VALUE)) {
+            assertEquals(List.of("one", "two"), payloads(journal.readUnflushed()));
+        }
+    }
+
+    @Test
+    void compactsOnceFullyCheckpointed() throws IOException {
+        try (PaymentJournal journal = new PaymentJournal(dir, 1)) {
+            long end = append(journal, "one");
+            journal.checkpoint(end);
+            assertEquals(0, Files.size(journal()));
+
+            append(journal, "two");
+        }
+
+        try (PaymentJournal journal = new PaymentJournal(dir, 1)) {
+            assertEquals(List.of("two"), payloads(journal.readUnflushed()));
+        }
+    }
+
+    @Test
+    void checkpointPastTheEndIsReset() throws IOException {
+        try (PaymentJournal journal = new PaymentJournal(dir, Long.MAX_VALUE)) {
+            append(journal, "one");
+            append(journal, "two");
+            journal.checkpoint(Files.size(journal()));
+        }
+        // Crash after the truncate but before the checkpoint was rewritten
+        Files.write(journal(), new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+
+        try (PaymentJournal journal = new PaymentJournal(dir, Long.MAX_VALUE)) {
+            assertTrue(journal.readUnflushed().isEmpty());
+            append(journal, "three");
+            append(journal, "four");
+        }
+
+        // Without the reset the stale offset would now land past "three"
+        try (PaymentJournal journal = new PaymentJournal(dir, Long.MAX_VALUE)) {
+            assertEquals(List.of("three", "four"), payloads(journal.readUnflushed()));
+        }
+    }
+
+    private Path journal() {
+        return dir.resolve("payments.journal");
+    }
+
+    private static long append(PaymentJournal journal, String payload) throws IOException {
+        long end = journal.append(payload.getBytes(StandardCharsets.UTF_8), offset -> { });
+        journal.awaitDurable(end);
+        return end;
+    }
+
+    private static List<String> payloads(List<PaymentJournal.Entry> entries) {
+        return entries.stream().map(e -> new String(e.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.festivo.service.rateLimitService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoadShedderTests {
+
+    private MongoLatencyTracker latencyTracker;
+    private LoadShedder shedder;
+
+    @BeforeEach
+    void setUp() {
+        latencyTracker = mock(MongoLatencyTracker.class);
+        shedder = new LoadShedder(latencyTracker, 4, 1, 50, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void admitsUpToTheLimitAndReusesReleasedSlots() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(shedder.tryEnter());
+        }
+        assertFalse(shedder.tryEnter());
+
+        shedder.exit();
+        assertTrue(shedder.tryEnter());
+    }
+
+    @Test
+    void limitShrinksWithLatencyDownToTheMinimum() {
+        when(latencyTracker.getAverageMillis()).thenReturn(50.0);
+        assertEquals(4, shedder.currentLimit());
+
+        when(latencyTracker.getAverageMillis()).thenReturn(100.0);
+        assertEquals(2, shedder.currentLimit());
+
+        when(latencyTracker.getAverageMillis()).thenReturn(10_000.0);
+        assertEquals(1, shedder.currentLimit());
+    }
+
+    @Test
+    void slowMongoShedsRequestsAlreadyWithinTheOldLimit() {
+        assertTrue(shedder.tryEnter());
+        assertTrue(shedder.tryEnter());
+
+        when(latencyTracker.getAverageMillis()).thenReturn(100.0);
+        assertFalse(shedder.tryEnter());
+
+        shedder.exit();
+        assertTrue(shedder.tryEnter());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.festivo.service.rateLimitService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void eachClientHasItsOwnBudget() {
+        RateLimiter limiter = new RateLimiter(10, 0.001, 100, meterRegistry);
+
+        assertEquals(0, limiter.tryAcquire("ip:1", 10));
+        assertTrue(limiter.tryAcquire("ip:1", 1) > 0);
+        assertEquals(0, limiter.tryAcquire("ip:2", 10));
+    }
+
+    @Test
+    void clientsPastTheLimitShareTheOverflowBucket() {
+        RateLimiter limiter = new RateLimiter(10, 0.001, 1, meterRegistry);
+        limiter.tryAcquire("ip:1", 1);
+
+        assertEquals(0, limiter.tryAcquire("ip:2", 6));
+        assertTrue(limiter.tryAcquire("ip:3", 6) > 0);
+        assertEquals(2, bucketCount());
+    }
+
+    @Test
+    void sweepDropsOnlyRefilledBuckets() {
+        RateLimiter limiter = new RateLimiter(10, 0.001, 100, meterRegistry);
+        limiter.tryAcquire("ip:1", 0);
+        limiter.tryAcquire("ip:2", 5);
+
+        limiter.evictFullBuckets();
+
+        assertEquals(1, bucketCount());
+        assertTrue(limiter.tryAcquire("ip:2", 10) > 0);
+    }
+
+    private double bucketCount() {
+        return meterRegistry.get("festivo.rate_limit.buckets").gauge().value();
+    }
+}
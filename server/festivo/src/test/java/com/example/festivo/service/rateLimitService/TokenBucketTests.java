@@ -0,0 +1,65 @@
+package com.example.festivo.service.rateLimitService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void startsFullAndRefusesOnceEmpty() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        assertEquals(0, bucket.tryConsume(10, 0));
+        // One token short at five per second
+        assertEquals(SECOND / 5, bucket.tryConsume(1, 0));
+    }
+
+    @Test
+    void refillsWithElapsedTimeUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        bucket.tryConsume(10, 0);
+
+        assertEquals(0, bucket.tryConsume(5, SECOND));
+        assertTrue(bucket.tryConsume(1, SECOND) > 0);
+
+        // An hour idle still only holds the capacity
+        long later = TimeUnit.HOURS.toNanos(1);
+        assertEquals(0, bucket.tryConsume(10, later));
+        assertTrue(bucket.tryConsume(1, later) > 0);
+    }
+
+    @Test
+    void costAboveTheBalanceTakesNothing() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        assertTrue(bucket.tryConsume(11, 0) > 0);
+        assertEquals(0, bucket.tryConsume(10, 0));
+    }
+
+    @Test
+    void fullOnlyOnceEverythingIsRefilled() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertTrue(bucket.isFull(0));
+
+        bucket.tryConsume(5, 0);
+        assertFalse(bucket.isFull(SECOND / 2));
+        assertTrue(bucket.isFull(SECOND));
+    }
+
+    // A request stamped before the last refill must not rewind the clock
+    @Test
+    void lateTimestampDoesNotRefillTwice() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        bucket.tryConsume(10, SECOND);
+
+        assertEquals(0, bucket.tryConsume(0, SECOND / 2));
+        assertTrue(bucket.tryConsume(1, SECOND) > 0);
+    }
+}
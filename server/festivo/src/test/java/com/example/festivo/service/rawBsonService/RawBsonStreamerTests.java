@@ -0,0 +1,102 @@
+package com.example.festivo.service.rawBsonService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.example.festivo.entity.eventEntity.EventTheme;
+import com.example.festivo.entity.eventEntity.ThemePackage;
+import com.example.festivo.entity.supplierPaymentEntity.SupplierPaymentEntity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The streamer writes from the mapping metadata and never sees Jackson
+ * annotations or getters, so each streamed entity is checked against what
+ * Jackson writes for the same object. A @JsonIgnore, @JsonProperty or
+ * computed getter added to one of them shows up here.
+ */
+class RawBsonStreamerTests {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private MappingMongoConverter converter;
+    private RawBsonStreamer streamer;
+
+    @BeforeEach
+    void setUp() {
+        // As Boot configures it, so BigDecimal is a simple type stored as a string
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        streamer = new RawBsonStreamer(mongoTemplate, objectMapper,
+                new MappingJackson2CborHttpMessageConverter(), new MappingJackson2SmileHttpMessageConverter());
+    }
+
+    @Test
+    void supplierPaymentMatchesJackson() throws IOException {
+        SupplierPaymentEntity full = new SupplierPaymentEntity(new ObjectId().toHexString(), "caterer@festivo.lk",
+                "p1", "o1", new BigDecimal("1500.50"), "CARD", "PAID", new Date(1_700_000_000_000L),
+                new Date(1_700_086_400_000L));
+        SupplierPaymentEntity sparse = new SupplierPaymentEntity();
+        sparse.setId(new ObjectId().toHexString());
+        sparse.setSupplierEmail("florist@festivo.lk");
+
+        assertSameAsJackson(SupplierPaymentEntity.class, List.of(full, sparse));
+    }
+
+    @Test
+    void eventThemeMatchesJackson() throws IOException {
+        EventTheme full = new EventTheme(new ObjectId().toHexString(), "Wedding", "Rose Garden", "#f4c2c2",
+                150_000.0, "Roses everywhere", "rose.png",
+                List.of(new ThemePackage("Gold", 75_000, "Gold package", new ObjectId().toHexString())),
+                new Date(1_700_000_000_000L));
+        EventTheme sparse = new EventTheme();
+        sparse.setId(new ObjectId().toHexString());
+        sparse.setThemePackage(List.of(new ThemePackage()));
+
+        assertSameAsJackson(EventTheme.class, List.of(full, sparse));
+    }
+
+    private <T> void assertSameAsJackson(Class<T> type, List<T> entities) throws IOException {
+        Iterator<RawBsonDocument> documents = entities.stream().map(entity -> {
+            Document document = new Document();
+            converter.write(entity, document);
+            return new RawBsonDocument(document, new DocumentCodec());
+        }).iterator();
+
+        StringWriter streamed = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(streamed)) {
+            streamer.write(type, documents, generator);
+        }
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(entities)),
+                objectMapper.readTree(streamed.toString()));
+    }
+}
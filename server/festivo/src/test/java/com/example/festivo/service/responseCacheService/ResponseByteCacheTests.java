@@ -0,0 +1,126 @@
+package com.example.festivo.service.responseCacheService;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ResponseByteCacheTests {
+
+    private static final String VIEW = ResponseByteCache.EVENT_THEMES;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResponseByteCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseByteCache(objectMapper, new MappingJackson2CborHttpMessageConverter(),
+                new MappingJackson2SmileHttpMessageConverter(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void secondReadIsServedFromTheCache() throws IOException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<String>> loader = () -> {
+            loads.incrementAndGet();
+            return List.of("Rose Garden");
+        };
+
+        MockHttpServletResponse first = write(VIEW, loader, new MockHttpServletRequest());
+        MockHttpServletResponse second = write(VIEW, loader, new MockHttpServletRequest());
+
+        assertEquals(1, loads.get());
+        assertEquals("[\"Rose Garden\"]", second.getContentAsString());
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void matchingEtagGetsNotModified() throws IOException {
+        String etag = write(VIEW, () -> List.of("Rose Garden"), new MockHttpServletRequest()).getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = write(VIEW, () -> List.of("Rose Garden"), request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void invalidateReloadsTheViewAndItsProjections() throws IOException {
+        String before = write(VIEW, () -> List.of("Rose Garden"), new MockHttpServletRequest()).getHeader(HttpHeaders.ETAG);
+        write(ResponseByteCache.EVENT_THEMES_SUMMARY, () -> List.of("Rose"), new MockHttpServletRequest());
+
+        cache.invalidate(VIEW);
+
+        MockHttpServletResponse after = write(VIEW, () -> List.of("Sea Breeze"), new MockHttpServletRequest());
+        assertEquals("[\"Sea Breeze\"]", after.getContentAsString());
+        assertNotEquals(before, after.getHeader(HttpHeaders.ETAG));
+        assertEquals("[\"Sea\"]", write(ResponseByteCache.EVENT_THEMES_SUMMARY, () -> List.of("Sea"),
+                new MockHttpServletRequest()).getContentAsString());
+    }
+
+    @Test
+    void bodyLoadedAcrossAnInvalidationIsNotKept() throws IOException {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<String>> racingLoader = () -> {
+            loads.incrementAndGet();
+            // A write lands while this read is still encoding the old data
+            cache.invalidate(VIEW);
+            return List.of("Rose Garden");
+        };
+
+        write(VIEW, racingLoader, new MockHttpServletRequest());
+        write(VIEW, racingLoader, new MockHttpServletRequest());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void negotiatesGzipAndCbor() throws IOException {
+        MockHttpServletRequest gzip = new MockHttpServletRequest();
+        gzip.addHeader(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8");
+        MockHttpServletResponse zipped = write(VIEW, () -> List.of("Rose Garden"), gzip);
+
+        assertEquals("gzip", zipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(zipped.getContentAsByteArray()))) {
+            assertEquals("[\"Rose Garden\"]", new String(in.readAllBytes()));
+        }
+
+        MockHttpServletRequest cbor = new MockHttpServletRequest();
+        cbor.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        MockHttpServletResponse binary = write(VIEW, () -> List.of("Rose Garden"), cbor);
+
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, binary.getContentType());
+        assertArrayEquals(new MappingJackson2CborHttpMessageConverter().getObjectMapper()
+                .writeValueAsBytes(List.of("Rose Garden")), binary.getContentAsByteArray());
+    }
+
+    private MockHttpServletResponse write(String view, Supplier<?> loader, MockHttpServletRequest request)
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write(view, loader, request, response);
+        return response;
+    }
+}
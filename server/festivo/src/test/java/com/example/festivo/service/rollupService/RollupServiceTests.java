@@ -0,0 +1,75 @@
+package com.example.festivo.service.rollupService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.example.festivo.entity.rollupEntity.RollupBucket;
+import com.example.festivo.repository.rollupRepository.RollupRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RollupServiceTests {
+
+    private BulkOperations bulk;
+    private RollupService service;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(RollupBucket.class))).thenReturn(bulk);
+        service = new RollupService(mongoTemplate, mock(RollupRepo.class), new SimpleMeterRegistry(),
+                Duration.ofDays(14), Duration.ofDays(400));
+    }
+
+    @Test
+    void retractDecrementsWithoutCreatingBuckets() {
+        service.retract(RollupService.PAYMENT_CARD_TYPE, "VISA", 2500, Instant.parse("2027-03-14T10:15:00Z"));
+        service.flush();
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        // Hour, day and month
+        verify(bulk, times(3)).updateOne(any(Query.class), updates.capture());
+        verify(bulk, never()).upsert(any(Query.class), any(Update.class));
+        Document inc = (Document) updates.getValue().getUpdateObject().get("$inc");
+        assertEquals(-1L, inc.get("count"));
+        assertEquals(-2500.0, inc.get("amount"));
+    }
+
+    @Test
+    void retractWithoutARecordTimeIsIgnored() {
+        service.retract(RollupService.EVENT_TYPE, "Wedding", 0, RollupService.createdAt("client-chosen-id"));
+        service.flush();
+
+        verify(bulk, never()).execute();
+    }
+
+    @Test
+    void createdAtReadsObjectIds() {
+        ObjectId id = new ObjectId();
+
+        assertEquals(id.getDate().toInstant(), RollupService.createdAt(id));
+        assertEquals(id.getDate().toInstant(), RollupService.createdAt(id.toHexString()));
+        assertNull(RollupService.createdAt(42));
+    }
+}